@@ -0,0 +1,16 @@
+package com.beatchaser.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Cross-node pub/sub used to fan out game events and forward commands to a game's owner node.
+ * Delivery is at-most-once and asynchronous; a node also receives its own messages and is expected to ignore them.
+ * {@link LocalClusterBus} connects nodes running in the same JVM; a deployment spanning machines plugs in
+ * its own implementation (Redis, NATS, Postgres LISTEN/NOTIFY) as a {@code ClusterBus} bean.
+ */
+public interface ClusterBus {
+
+    void publish(ClusterMessage message);
+
+    void subscribe(Consumer<ClusterMessage> listener);
+}
@@ -0,0 +1,39 @@
+package com.beatchaser.cluster;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Envelope exchanged between nodes. Events carry an already serialized STOMP payload for every node;
+ * commands carry a serialized request for the game's owner node only. When a forwarded command fails,
+ * the owner answers the source node with {@code COMMAND_FAILED} so the error reaches the user who sent it.
+ * State snapshots are requested from the owner with {@code SNAPSHOT_REQUEST} and answered with {@code SNAPSHOT_REPLY}
+ * (or {@code COMMAND_FAILED}) carrying the same correlation id. {@code GAME_FINISHED} tells every node the final scores
+ * of a game, since each one keeps its own copy of the leaderboard.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClusterMessage {
+
+    public enum Type {
+        EVENT, GUESS, SKIP, COMMAND_FAILED, SNAPSHOT_REQUEST, SNAPSHOT_REPLY, GAME_FINISHED
+    }
+
+    private Type type;
+    private String sourceNode;
+    /** Node that should handle the message, or null to deliver it everywhere. */
+    private String targetNode;
+    private UUID gameId;
+    private String destination;
+    private String payload;
+    /** For commands, the user whose sessions receive the error if the owner fails to process it. */
+    private String replyTo;
+    /** Pairs a reply with the request it answers. */
+    private String correlationId;
+}
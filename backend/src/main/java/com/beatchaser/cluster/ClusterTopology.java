@@ -0,0 +1,124 @@
+package com.beatchaser.cluster;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Static view of the backend nodes. Every game is owned by exactly one node, chosen by rendezvous hashing of the
+ * game id, so all nodes agree on the owner without coordination and only the games of a removed node move.
+ * Nodes are configured as {@code beatchaser.cluster.nodes=node-a=http://10.0.0.1:8080,node-b=http://10.0.0.2:8080}.
+ */
+@Component
+@Slf4j
+public class ClusterTopology {
+
+    @Getter
+    private final String nodeId;
+    private final Map<String, String> nodes;
+    private final long[] nodeHashes;
+    private final String[] nodeIds;
+    private final boolean eventFanOut;
+    private final boolean brokerRelay;
+
+    public ClusterTopology(@Value("${beatchaser.cluster.node-id:local}") String nodeId,
+                           @Value("${beatchaser.cluster.nodes:}") String nodes,
+                           @Value("${beatchaser.websocket.broker:simple}") String brokerMode) {
+        this.nodeId = nodeId;
+        this.nodes = Collections.unmodifiableMap(parseNodes(nodeId, nodes));
+        this.nodeIds = this.nodes.keySet().toArray(String[]::new);
+        this.nodeHashes = new long[nodeIds.length];
+        for (int i = 0; i < nodeIds.length; i++) {
+            nodeHashes[i] = hash(nodeIds[i]);
+        }
+        this.brokerRelay = "relay".equalsIgnoreCase(brokerMode);
+        // An external relay already delivers to every node's subscribers; the simple broker only knows its own
+        this.eventFanOut = isClustered() && !brokerRelay;
+        log.info("Cluster node {} of {}, broker mode {}", nodeId, this.nodes.keySet(), brokerMode);
+    }
+
+    public boolean isClustered() {
+        return nodeIds.length > 1;
+    }
+
+    public boolean isEventFanOut() {
+        return eventFanOut;
+    }
+
+    /**
+     * Whether subscriptions live on an external broker, so this node cannot see who is subscribed to a topic.
+     */
+    public boolean isBrokerRelay() {
+        return brokerRelay;
+    }
+
+    public String ownerOf(UUID gameId) {
+        if (nodeIds.length == 1) {
+            return nodeIds[0];
+        }
+        long key = gameId.getMostSignificantBits() ^ gameId.getLeastSignificantBits();
+        int best = 0;
+        long bestScore = Long.MIN_VALUE;
+        for (int i = 0; i < nodeIds.length; i++) {
+            long score = mix(key ^ nodeHashes[i]);
+            if (score > bestScore) {
+                bestScore = score;
+                best = i;
+            }
+        }
+        return nodeIds[best];
+    }
+
+    public boolean isLocal(UUID gameId) {
+        return nodeId.equals(ownerOf(gameId));
+    }
+
+    /**
+     * Base URL of the node, or an empty string when it was configured without one.
+     */
+    public String baseUrlOf(String node) {
+        return nodes.getOrDefault(node, "");
+    }
+
+    private static Map<String, String> parseNodes(String self, String spec) {
+        Map<String, String> parsed = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int eq = trimmed.indexOf('=');
+            String id = eq < 0 ? trimmed : trimmed.substring(0, eq).trim();
+            String url = eq < 0 ? "" : trimmed.substring(eq + 1).trim();
+            parsed.put(id, url.endsWith("/") ? url.substring(0, url.length() - 1) : url);
+        }
+        if (!parsed.containsKey(self)) {
+            if (!parsed.isEmpty()) {
+                throw new IllegalStateException("Node " + self + " is not listed in beatchaser.cluster.nodes");
+            }
+            parsed.put(self, "");
+        }
+        return parsed;
+    }
+
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h = (h ^ b) * 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,53 @@
+package com.beatchaser.cluster;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.UUID;
+
+/**
+ * Keeps game commands sticky to the game's owner node. Requests carrying a {@code gameId} that another node owns
+ * are redirected there with 307, which preserves the method and body; without a known URL the client gets 421.
+ * The owner is also advertised in a header so a load balancer can pin follow-up traffic.
+ */
+@RequiredArgsConstructor
+public class GameOwnerRoutingInterceptor implements HandlerInterceptor {
+
+    public static final String OWNER_HEADER = "X-Game-Owner";
+    private static final int MISDIRECTED_REQUEST = 421;
+
+    private final ClusterTopology clusterTopology;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String gameIdParam = request.getParameter("gameId");
+        if (gameIdParam == null) {
+            return true;
+        }
+        UUID gameId;
+        try {
+            gameId = UUID.fromString(gameIdParam);
+        } catch (IllegalArgumentException e) {
+            // Let the controller report the malformed id
+            return true;
+        }
+        String owner = clusterTopology.ownerOf(gameId);
+        response.setHeader(OWNER_HEADER, owner);
+        if (owner.equals(clusterTopology.getNodeId())) {
+            return true;
+        }
+        String baseUrl = clusterTopology.baseUrlOf(owner);
+        if (baseUrl.isEmpty()) {
+            response.setStatus(MISDIRECTED_REQUEST);
+            return false;
+        }
+        String query = request.getQueryString();
+        response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+        response.setHeader(HttpHeaders.LOCATION, baseUrl + request.getRequestURI() + (query == null ? "" : "?" + query));
+        return false;
+    }
+}
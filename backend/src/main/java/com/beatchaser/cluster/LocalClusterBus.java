@@ -0,0 +1,66 @@
+package com.beatchaser.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * In-process stand-in for a real message bus. Every instance created with the same channel name joins the same
+ * group, so several application contexts started in one JVM behave like separate nodes.
+ * Messages are delivered on a dedicated thread per instance, never on the publisher's thread.
+ */
+@Slf4j
+public class LocalClusterBus implements ClusterBus, AutoCloseable {
+
+    private static final Map<String, List<LocalClusterBus>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final String channel;
+    private final List<Consumer<ClusterMessage>> listeners = new CopyOnWriteArrayList<>();
+    private final ExecutorService delivery;
+
+    public LocalClusterBus(String channel) {
+        this.channel = channel;
+        this.delivery = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cluster-bus-" + channel);
+            thread.setDaemon(true);
+            return thread;
+        });
+        CHANNELS.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>()).add(this);
+    }
+
+    @Override
+    public void publish(ClusterMessage message) {
+        for (LocalClusterBus member : CHANNELS.getOrDefault(channel, List.of())) {
+            member.deliver(message);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterMessage> listener) {
+        listeners.add(listener);
+    }
+
+    private void deliver(ClusterMessage message) {
+        delivery.execute(() -> {
+            for (Consumer<ClusterMessage> listener : listeners) {
+                try {
+                    listener.accept(message);
+                } catch (RuntimeException e) {
+                    log.error("Cluster listener failed for {} message", message.getType(), e);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        CHANNELS.getOrDefault(channel, List.of()).remove(this);
+        delivery.shutdown();
+    }
+}
@@ -0,0 +1,46 @@
+package com.beatchaser.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    public static final String PASSWORD_HASHER = "passwordHashExecutor";
+    public static final String REQUEST_EXECUTOR = "requestExecutor";
+
+    // BCrypt is CPU bound: one thread per core and a short queue, anything beyond that is turned away with 429
+    @Bean(name = PASSWORD_HASHER)
+    public ThreadPoolTaskExecutor passwordHashExecutor(@Value("${beatchaser.auth.hashing.pool-size:0}") int poolSize,
+                                                       @Value("${beatchaser.auth.hashing.queue-capacity:64}") int queueCapacity) {
+        int size = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(size);
+        executor.setMaxPoolSize(size);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hasher-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // Blocking database work that follows an async step, kept off the hashing pool so BCrypt threads never wait on I/O
+    @Bean(name = REQUEST_EXECUTOR)
+    public ThreadPoolTaskExecutor requestExecutor(@Value("${beatchaser.requests.pool-size:10}") int poolSize,
+                                                  @Value("${beatchaser.requests.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("request-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
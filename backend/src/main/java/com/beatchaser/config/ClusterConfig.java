@@ -0,0 +1,32 @@
+package com.beatchaser.config;
+
+import com.beatchaser.cluster.ClusterBus;
+import com.beatchaser.cluster.ClusterTopology;
+import com.beatchaser.cluster.GameOwnerRoutingInterceptor;
+import com.beatchaser.cluster.LocalClusterBus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class ClusterConfig implements WebMvcConfigurer {
+
+    private final ClusterTopology clusterTopology;
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean(ClusterBus.class)
+    public LocalClusterBus localClusterBus(@Value("${beatchaser.cluster.local-channel:beatchaser}") String channel) {
+        return new LocalClusterBus(channel);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new GameOwnerRoutingInterceptor(clusterTopology))
+                .addPathPatterns("/api/game/join", "/api/game/start");
+    }
+}
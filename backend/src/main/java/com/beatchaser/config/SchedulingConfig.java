@@ -0,0 +1,20 @@
+package com.beatchaser.config;
+
+import com.beatchaser.util.HashedTimingWheel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    @Bean(destroyMethod = "close")
+    public HashedTimingWheel roundTimingWheel(@Value("${beatchaser.rounds.timer-tick-ms:100}") long tickMs,
+                                              @Value("${beatchaser.rounds.timer-wheel-size:512}") int wheelSize) {
+        return new HashedTimingWheel("round-timer", tickMs, TimeUnit.MILLISECONDS, wheelSize);
+    }
+}
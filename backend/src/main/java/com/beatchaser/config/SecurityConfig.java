@@ -1,6 +1,7 @@
 package com.beatchaser.config;
 
 import com.beatchaser.provider.JwtTokenFilter;
+import com.beatchaser.service.UserRoles;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -39,6 +40,12 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/ws/**").permitAll()
+                        // Audio elements cannot send an Authorization header; the signed token in the clip URL guards it
+                        .requestMatchers("/api/game/*/round/*/clip").permitAll()
+                        // Whole tracks would give away every round's answer, players only get round clips
+                        .requestMatchers("/api/song/*/audio").hasRole(UserRoles.ADMIN)
+                        // Ingestion scans the server's filesystem and rewrites the catalog
+                        .requestMatchers("/api/song/ingest").hasRole(UserRoles.ADMIN)
                         .anyRequest().authenticated()
                 )
 
@@ -0,0 +1,85 @@
+package com.beatchaser.config;
+
+import com.beatchaser.service.WebSocketMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor for a STOMP client channel that records queue wait, task time and rejections in {@link WebSocketMetrics}.
+ * Backed either by a fixed pool with a bounded queue or, on a JVM that has them, by virtual threads.
+ */
+@Slf4j
+public class StompChannelExecutor implements Executor, AutoCloseable {
+
+    private final ExecutorService delegate;
+    private final WebSocketMetrics.ChannelStats stats;
+
+    private StompChannelExecutor(ExecutorService delegate, WebSocketMetrics.ChannelStats stats) {
+        this.delegate = delegate;
+        this.stats = stats;
+    }
+
+    public static StompChannelExecutor pooled(String channel, int poolSize, int queueCapacity, WebSocketMetrics metrics) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "stomp-" + channel + "-" + threadNumber.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        WebSocketMetrics.ChannelStats stats = metrics.channel(channel);
+        stats.bind(() -> pool.getQueue().size(), pool::getActiveCount);
+        log.info("STOMP {} channel: {} threads, queue capacity {}", channel, poolSize, queueCapacity);
+        return new StompChannelExecutor(pool, stats);
+    }
+
+    /**
+     * One virtual thread per message. The project targets Java 17, so the factory is looked up reflectively and
+     * a pool is used instead when the running JVM has no virtual threads.
+     */
+    public static StompChannelExecutor virtual(String channel, int fallbackPoolSize, int fallbackQueueCapacity,
+                                               WebSocketMetrics metrics) {
+        try {
+            ExecutorService virtual = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+            log.info("STOMP {} channel: virtual threads", channel);
+            return new StompChannelExecutor(virtual, metrics.channel(channel));
+        } catch (ReflectiveOperationException e) {
+            log.warn("Virtual threads are not available on Java {}, using a thread pool for the STOMP {} channel",
+                    Runtime.version().feature(), channel);
+            return pooled(channel, fallbackPoolSize, fallbackQueueCapacity, metrics);
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        long queuedAt = System.nanoTime();
+        stats.submitted();
+        try {
+            delegate.execute(() -> {
+                long startedAt = System.nanoTime();
+                try {
+                    task.run();
+                } finally {
+                    stats.completed(startedAt - queuedAt, System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            stats.rejected();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        delegate.shutdown();
+    }
+}
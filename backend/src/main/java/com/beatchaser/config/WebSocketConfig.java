@@ -1,19 +1,134 @@
 package com.beatchaser.config;
 
+import com.beatchaser.provider.StompAuthChannelInterceptor;
+import com.beatchaser.service.WebSocketMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final WebSocketMetrics webSocketMetrics;
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
+    @Value("${beatchaser.websocket.broker:simple}")
+    private String brokerMode;
+    @Value("${beatchaser.websocket.relay.host:localhost}")
+    private String relayHost;
+    @Value("${beatchaser.websocket.relay.port:61613}")
+    private int relayPort;
+    @Value("${beatchaser.websocket.relay.login:guest}")
+    private String relayLogin;
+    @Value("${beatchaser.websocket.relay.passcode:guest}")
+    private String relayPasscode;
+    @Value("${beatchaser.websocket.relay.virtual-host:}")
+    private String relayVirtualHost;
+    /** "pool" or "virtual"; virtual threads need a Java 21+ runtime and fall back to the pool otherwise. */
+    @Value("${beatchaser.websocket.executor.mode:pool}")
+    private String executorMode;
+    @Value("${beatchaser.websocket.inbound.pool-size:0}")
+    private int inboundPoolSize;
+    @Value("${beatchaser.websocket.inbound.queue-capacity:10000}")
+    private int inboundQueueCapacity;
+    @Value("${beatchaser.websocket.outbound.pool-size:0}")
+    private int outboundPoolSize;
+    @Value("${beatchaser.websocket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+    @Value("${beatchaser.websocket.transport.message-size-limit:65536}")
+    private int messageSizeLimit;
+    @Value("${beatchaser.websocket.transport.send-time-limit-ms:5000}")
+    private int sendTimeLimitMs;
+    @Value("${beatchaser.websocket.transport.send-buffer-size-limit:262144}")
+    private int sendBufferSizeLimit;
+    @Value("${beatchaser.websocket.transport.time-to-first-message-ms:30000}")
+    private int timeToFirstMessageMs;
+
+    @Bean(destroyMethod = "close")
+    public StompChannelExecutor stompInboundExecutor() {
+        return channelExecutor("inbound", inboundPoolSize, inboundQueueCapacity);
+    }
+
+    @Bean(destroyMethod = "close")
+    public StompChannelExecutor stompOutboundExecutor() {
+        return channelExecutor("outbound", outboundPoolSize, outboundQueueCapacity);
+    }
+
+    private StompChannelExecutor channelExecutor(String channel, int poolSize, int queueCapacity) {
+        int size = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors() * 2;
+        return "virtual".equalsIgnoreCase(executorMode)
+                ? StompChannelExecutor.virtual(channel, size, queueCapacity, webSocketMetrics)
+                : StompChannelExecutor.pooled(channel, size, queueCapacity, webSocketMetrics);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.executor(stompInboundExecutor())
+                .interceptors(stompAuthChannelInterceptor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.executor(stompOutboundExecutor());
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // A session whose outbound messages back up past these limits is closed, so a slow client only
+        // ever holds one outbound thread for a bounded time instead of stalling delivery to its whole room
+        registration.setMessageSizeLimit(messageSizeLimit)
+                .setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setTimeToFirstMessage(timeToFirstMessageMs)
+                .addDecoratorFactory(handler -> new WebSocketHandlerDecorator(handler) {
+                    @Override
+                    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                        webSocketMetrics.sessionOpened();
+                        super.afterConnectionEstablished(session);
+                    }
+
+                    @Override
+                    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                        webSocketMetrics.sessionClosed(closeStatus);
+                        super.afterConnectionClosed(session, closeStatus);
+                    }
+                });
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Enable simple broker for sending messages to clients
-        config.enableSimpleBroker("/topic", "/queue");
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            // External STOMP broker (RabbitMQ, ActiveMQ) shared by all nodes, so subscriptions survive node boundaries
+            var relay = config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                    .setUserRegistryBroadcast("/topic/simp-user-registry");
+            if (!relayVirtualHost.isEmpty()) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+        } else {
+            // Enable simple broker for sending messages to clients; other nodes are reached through the cluster bus
+            config.enableSimpleBroker("/topic", "/queue");
+        }
+        // Game state deltas are versioned, keep them in publish order per session
+        config.setPreservePublishOrder(true);
         // Set prefix for client-to-server messages
         config.setApplicationDestinationPrefixes("/app");
         // Set prefix for user-specific messages
@@ -0,0 +1,142 @@
+package com.beatchaser.controller.rest;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes a slice of a file as an HTTP response with conditional and byte-range support. On Tomcat the region is
+ * handed to the connector's sendfile, so bytes go from the page cache to the socket without passing through the JVM;
+ * elsewhere {@link FileChannel#transferTo} streams it in small chunks. Slices already held in memory are written
+ * from there.
+ */
+final class AudioResponses {
+
+    // Request attributes understood by Tomcat's NIO connector
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private AudioResponses() {
+    }
+
+    /**
+     * Serves {@code length} bytes of {@code file} starting at {@code offset} as if they were a file of their own.
+     */
+    static void serve(HttpServletRequest request, HttpServletResponse response, Path file, long offset, long length,
+                      String etag, long lastModified, MediaType contentType, String cacheControl) throws IOException {
+        serve(request, response, file, offset, length, null, etag, lastModified, contentType, cacheControl);
+    }
+
+    /**
+     * Same as above, writing from {@code cached} (the slice's bytes) when it is not null.
+     */
+    static void serve(HttpServletRequest request, HttpServletResponse response, Path file, long offset, long length,
+                      byte[] cached, String etag, long lastModified, MediaType contentType, String cacheControl)
+            throws IOException {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setContentType(contentType.toString());
+
+        HttpRange range = requestedRange(request, etag);
+        if (range == null) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            send(request, response, file, offset, 0, length, cached);
+            return;
+        }
+        long start = range.getRangeStart(length);
+        long end = range.getRangeEnd(length);
+        if (start >= length || end < start) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        send(request, response, file, offset, start, end - start + 1, cached);
+    }
+
+    /**
+     * The single range to serve, or null for the whole body. Multiple ranges are answered with the whole body,
+     * which RFC 9110 allows and players never ask for anyway.
+     */
+    private static HttpRange requestedRange(HttpServletRequest request, String etag) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        // If-Range with a date or an old tag means the client's copy is stale: send the whole new body
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+
+    private static void send(HttpServletRequest request, HttpServletResponse response, Path file, long offset,
+                             long rangeStart, long count, byte[] cached) throws IOException {
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+        if (cached != null) {
+            response.getOutputStream().write(cached, (int) rangeStart, (int) count);
+            return;
+        }
+        long start = offset + rangeStart;
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long end = start + count;
+            while (position < end) {
+                long written = channel.transferTo(position, end - position, out);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+            }
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
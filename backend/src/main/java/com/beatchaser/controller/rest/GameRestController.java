@@ -4,8 +4,6 @@ import com.beatchaser.dto.game.GameStarted;
 import com.beatchaser.dto.game.gameplayer.GamePlayerDTO;
 import com.beatchaser.dto.session.SessionCreated;
 import com.beatchaser.exception.GameSessionNotFoundException;
-import com.beatchaser.mapper.GamePlayerMapper;
-import com.beatchaser.model.GamePlayer;
 import com.beatchaser.repository.GameRepository;
 import com.beatchaser.service.GameService;
 import lombok.RequiredArgsConstructor;
@@ -47,9 +45,7 @@ public class GameRestController {
             @RequestParam UUID playerId) {
             var game = gameRepository.findById(gameId)
                     .orElseThrow(() -> new GameSessionNotFoundException("Game not found"));
-            GamePlayer gamePlayer = gameService.joinGame(game, playerId);
-            GamePlayerDTO gamePlayerDTO = GamePlayerMapper.map(gamePlayer);
-            return ResponseEntity.ok(gamePlayerDTO);
+            return ResponseEntity.ok(gameService.joinGame(game, playerId).player());
 
     }
 
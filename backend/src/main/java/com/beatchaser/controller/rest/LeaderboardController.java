@@ -0,0 +1,43 @@
+package com.beatchaser.controller.rest;
+
+import com.beatchaser.dto.LeaderboardEntryDTO;
+import com.beatchaser.dto.user.CustomUserDetails;
+import com.beatchaser.service.LeaderboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+@RequiredArgsConstructor
+public class LeaderboardController {
+
+    private static final int MAX_LIMIT = 100;
+    private static final int MAX_RADIUS = 50;
+
+    private final LeaderboardService leaderboardService;
+
+    @GetMapping
+    public ResponseEntity<List<LeaderboardEntryDTO>> getTop(
+            @RequestParam(defaultValue = "10", name = "limit") int limit) {
+        return ResponseEntity.ok(leaderboardService.top(Math.min(Math.max(limit, 1), MAX_LIMIT)));
+    }
+
+    @GetMapping("/me")
+    public ResponseEntity<LeaderboardEntryDTO> getMyRank(@AuthenticationPrincipal CustomUserDetails user) {
+        return ResponseEntity.of(leaderboardService.rankOf(user.getId()));
+    }
+
+    @GetMapping("/around")
+    public ResponseEntity<List<LeaderboardEntryDTO>> getAroundMe(
+            @AuthenticationPrincipal CustomUserDetails user,
+            @RequestParam(defaultValue = "5", name = "radius") int radius) {
+        return ResponseEntity.ok(leaderboardService.around(user.getId(), Math.min(Math.max(radius, 0), MAX_RADIUS)));
+    }
+}
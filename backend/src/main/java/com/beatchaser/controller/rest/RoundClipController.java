@@ -0,0 +1,63 @@
+package com.beatchaser.controller.rest;
+
+import com.beatchaser.provider.ClipTokenSigner;
+import com.beatchaser.service.HotClipCache;
+import com.beatchaser.service.RoundClipService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Serves only the fragment of the song a round plays, so clients never receive the whole track.
+ * Access needs the signed token from the round-start or clip-prefetch event.
+ */
+@RestController
+@RequestMapping("/api/game")
+public class RoundClipController {
+
+    private final RoundClipService roundClipService;
+    private final HotClipCache hotClipCache;
+    private final ClipTokenSigner clipTokenSigner;
+    private final boolean tokenRequired;
+    private final String cacheControl;
+
+    public RoundClipController(RoundClipService roundClipService,
+                               HotClipCache hotClipCache,
+                               ClipTokenSigner clipTokenSigner,
+                               @Value("${beatchaser.audio.clip-token.required:true}") boolean tokenRequired,
+                               @Value("${beatchaser.audio.cache-max-age:30d}") Duration cacheMaxAge) {
+        this.roundClipService = roundClipService;
+        this.hotClipCache = hotClipCache;
+        this.clipTokenSigner = clipTokenSigner;
+        this.tokenRequired = tokenRequired;
+        this.cacheControl = CacheControl.maxAge(cacheMaxAge).cachePrivate().getHeaderValue();
+    }
+
+    @GetMapping("/{gameId}/round/{roundNumber}/clip")
+    public void streamClip(@PathVariable UUID gameId, @PathVariable int roundNumber,
+                           @RequestParam(required = false, name = "token") String token,
+                           HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (tokenRequired && !clipTokenSigner.verify(gameId, roundNumber, token)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        var clip = roundClipService.find(gameId, roundNumber).orElse(null);
+        if (clip == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        var audio = clip.audio();
+        AudioResponses.serve(request, response, audio.path(), clip.offset(), clip.length(), hotClipCache.get(clip.etag()),
+                clip.etag(), audio.lastModified(), audio.contentType(), cacheControl);
+    }
+}
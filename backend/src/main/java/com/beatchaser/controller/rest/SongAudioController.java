@@ -0,0 +1,43 @@
+package com.beatchaser.controller.rest;
+
+import com.beatchaser.service.SongAudioService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Serves whole song files with byte-range support, see {@link AudioResponses}.
+ */
+@RestController
+@RequestMapping("/api/song")
+public class SongAudioController {
+
+    private final SongAudioService songAudioService;
+    private final String cacheControl;
+
+    public SongAudioController(SongAudioService songAudioService,
+                               @Value("${beatchaser.audio.cache-max-age:30d}") Duration cacheMaxAge) {
+        this.songAudioService = songAudioService;
+        this.cacheControl = CacheControl.maxAge(cacheMaxAge).cachePublic().getHeaderValue();
+    }
+
+    @GetMapping("/{id}/audio")
+    public void streamAudio(@PathVariable UUID id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        var audio = songAudioService.find(id).orElse(null);
+        if (audio == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        AudioResponses.serve(request, response, audio.path(), 0, audio.length(),
+                audio.etag(), audio.lastModified(), audio.contentType(), cacheControl);
+    }
+}
@@ -1,17 +1,23 @@
 package com.beatchaser.controller.rest;
 
+import com.beatchaser.dto.IngestionStatusDTO;
 import com.beatchaser.dto.SongDTO;
-import com.beatchaser.dto.session.SessionCreated;
+import com.beatchaser.dto.SongFilter;
+import com.beatchaser.dto.SongPageDTO;
+import com.beatchaser.service.SongIngestionService;
+import com.beatchaser.service.SongSearchIndex;
 import com.beatchaser.service.SongService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
-import java.util.Map;
-import java.util.UUID;
 
 @RequiredArgsConstructor
 @RestController
@@ -19,9 +25,64 @@ import java.util.UUID;
 @Slf4j
 public class SongRestController {
     private final SongService songService;
+    private final SongSearchIndex songSearchIndex;
+    private final SongIngestionService songIngestionService;
 
     @GetMapping()
-    public ResponseEntity<List<SongDTO>> getAllSongs() {
-        return ResponseEntity.ok(songService.getAllSongs());
+    public ResponseEntity<List<SongDTO>> getAllSongs(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        var snapshot = songService.getCatalogSnapshot();
+        if (snapshot.getEtag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.getEtag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .body(snapshot.getSongs());
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<SongPageDTO> getSongPage(
+            @RequestParam(required = false, name = "cursor") String cursor,
+            @RequestParam(defaultValue = "" + SongService.DEFAULT_PAGE_SIZE, name = "limit") int limit,
+            @RequestParam(required = false, name = "artist") String artist,
+            @RequestParam(required = false, name = "genre") String genre,
+            @RequestParam(required = false, name = "year") Integer year) {
+        var filter = new SongFilter(artist, genre, year);
+        return ResponseEntity.ok(songService.getSongPage(filter, cursor, limit));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<SongDTO>> searchSongs(
+            @RequestParam(name = "q") String query,
+            @RequestParam(defaultValue = "" + SongSearchIndex.DEFAULT_LIMIT, name = "limit") int limit) {
+        return ResponseEntity.ok(songSearchIndex.search(query, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamSongs(
+            @RequestParam(required = false, name = "artist") String artist,
+            @RequestParam(required = false, name = "genre") String genre,
+            @RequestParam(required = false, name = "year") Integer year) {
+        var filter = new SongFilter(artist, genre, year);
+        StreamingResponseBody body = out -> songService.streamSongs(filter, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    @PostMapping("/ingest")
+    public ResponseEntity<IngestionStatusDTO> startIngestion() {
+        boolean started = songIngestionService.start();
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT)
+                .body(songIngestionService.status());
+    }
+
+    @GetMapping("/ingest")
+    public ResponseEntity<IngestionStatusDTO> getIngestionStatus() {
+        return ResponseEntity.ok(songIngestionService.status());
     }
 }
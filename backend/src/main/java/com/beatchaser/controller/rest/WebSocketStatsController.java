@@ -0,0 +1,22 @@
+package com.beatchaser.controller.rest;
+
+import com.beatchaser.dto.WebSocketStatsDTO;
+import com.beatchaser.service.WebSocketMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/websocket")
+public class WebSocketStatsController {
+
+    private final WebSocketMetrics webSocketMetrics;
+
+    @GetMapping("/stats")
+    public ResponseEntity<WebSocketStatsDTO> getStats() {
+        return ResponseEntity.ok(webSocketMetrics.snapshot());
+    }
+}
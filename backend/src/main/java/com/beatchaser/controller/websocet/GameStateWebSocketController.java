@@ -0,0 +1,38 @@
+package com.beatchaser.controller.websocet;
+
+import com.beatchaser.cluster.ClusterTopology;
+import com.beatchaser.dto.state.GameStateSnapshot;
+import com.beatchaser.service.ClusterGateway;
+import com.beatchaser.service.GameStateEventService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@Controller
+@RequiredArgsConstructor
+@Slf4j
+public class GameStateWebSocketController {
+
+    private final GameStateEventService gameStateEventService;
+    private final ClusterTopology clusterTopology;
+    private final ClusterGateway clusterGateway;
+
+    /**
+     * Replies to the subscribing session only. Clients subscribe to the game's event topic first, then here,
+     * and drop any delta whose version is not above the snapshot's. Subscribing again is how a client resyncs after a gap.
+     * Only the owner node holds the live game, so on other nodes the snapshot is fetched from the owner.
+     */
+    @SubscribeMapping("/game/{gameId}/state")
+    public CompletableFuture<GameStateSnapshot> subscribeState(@DestinationVariable UUID gameId) {
+        log.debug("State snapshot requested for game: {}", gameId);
+        if (!clusterTopology.isLocal(gameId)) {
+            return clusterGateway.requestSnapshot(gameId);
+        }
+        return gameStateEventService.snapshot(gameId);
+    }
+}
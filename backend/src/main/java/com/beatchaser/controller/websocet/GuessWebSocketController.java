@@ -1,14 +1,20 @@
 package com.beatchaser.controller.websocet;
 
+import com.beatchaser.cluster.ClusterTopology;
 import com.beatchaser.dto.guess.GuessRequestDTO;
+import com.beatchaser.dto.guess.SkipRequestDTO;
+import com.beatchaser.engine.GameActorExecutor;
+import com.beatchaser.provider.StompAuthChannelInterceptor;
+import com.beatchaser.service.ClusterGateway;
 import com.beatchaser.service.GuessService;
+import com.beatchaser.service.WebSocketService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.stereotype.Controller;
 
+import java.security.Principal;
 import java.util.UUID;
 
 @Controller
@@ -17,28 +23,54 @@ import java.util.UUID;
 public class GuessWebSocketController {
 
     private final GuessService guessService;
+    private final ClusterTopology clusterTopology;
+    private final ClusterGateway clusterGateway;
+    private final WebSocketService webSocketService;
 
-//    @MessageMapping("/guess")
-//    public void handleGuess(@Payload GuessRequestDTO request,
-//                            SimpMessageHeaderAccessor headerAccessor) {
-//        log.info("Received WebSocket guess: {}", request);
-//
-//        try {
-//            guessService.submitGuess(request);
-//
-//        } catch (Exception e) {
-//            log.error("Error processing WebSocket guess", e);
-//        }
-//    }
-//
-//    @MessageMapping("/skip")
-//    public void handleSkip(@Payload SkipRequest request) {
-//        log.info("Received WebSocket skip request for game: {}, round: {}", request.gameId, request.roundNumber);
-//
-//        try {
-//            guessService.skipRound(request.gameId, request.roundNumber);
-//        } catch (Exception e) {
-//            log.error("Error processing WebSocket skip", e);
-//        }
-//    }
-}
\ No newline at end of file
+    @MessageMapping("/guess")
+    public void handleGuess(@Payload GuessRequestDTO request, Principal principal) {
+        log.debug("Received WebSocket guess for game: {}, round: {}", request.getGameId(), request.getRoundNumber());
+
+        // The session's token is the source of truth for who is guessing, not the payload
+        UUID userId = StompAuthChannelInterceptor.userIdOf(principal);
+        if (userId != null) {
+            request.setUserId(userId);
+        }
+        if (!clusterTopology.isLocal(request.getGameId())) {
+            clusterGateway.forwardGuess(request, principal != null ? principal.getName() : null);
+            return;
+        }
+        guessService.submitGuess(request).exceptionally(e -> {
+            String error = GameActorExecutor.unwrap(e).getMessage();
+            log.warn("Error processing WebSocket guess for game {}: {}", request.getGameId(), error);
+            sendError(principal, error);
+            return null;
+        });
+    }
+
+    @MessageMapping("/skip")
+    public void handleSkip(@Payload SkipRequestDTO request, Principal principal) {
+        log.debug("Received WebSocket skip request for game: {}, round: {}", request.getGameId(), request.getRoundNumber());
+
+        UUID userId = StompAuthChannelInterceptor.userIdOf(principal);
+        if (userId != null) {
+            request.setUserId(userId);
+        }
+        if (!clusterTopology.isLocal(request.getGameId())) {
+            clusterGateway.forwardSkip(request, principal != null ? principal.getName() : null);
+            return;
+        }
+        guessService.skipRound(request).exceptionally(e -> {
+            String error = GameActorExecutor.unwrap(e).getMessage();
+            log.warn("Error processing WebSocket skip for game {}: {}", request.getGameId(), error);
+            sendError(principal, error);
+            return null;
+        });
+    }
+
+    private void sendError(Principal principal, String error) {
+        if (principal != null) {
+            webSocketService.sendError(principal.getName(), error);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.beatchaser.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@Builder
+public class IngestionStatusDTO {
+    private boolean running;
+    private String root;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private long scanned;
+    private long unchanged;
+    private long imported;
+    private long failed;
+    private double filesPerSecond;
+    private String error;
+}
@@ -0,0 +1,15 @@
+package com.beatchaser.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@Getter
+@Builder
+public class LeaderboardEntryDTO {
+    private long rank;
+    private UUID userId;
+    private String username;
+    private long score;
+}
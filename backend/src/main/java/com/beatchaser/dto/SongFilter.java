@@ -0,0 +1,10 @@
+package com.beatchaser.dto;
+
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class SongFilter {
+    private String artist;
+    private String genre;
+    private Integer year;
+}
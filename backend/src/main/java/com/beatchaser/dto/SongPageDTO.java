@@ -0,0 +1,11 @@
+package com.beatchaser.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class SongPageDTO {
+    private List<SongDTO> items;
+    private String nextCursor;
+}
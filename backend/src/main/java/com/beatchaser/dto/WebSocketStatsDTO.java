@@ -0,0 +1,27 @@
+package com.beatchaser.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+@Getter
+@Builder
+public class WebSocketStatsDTO {
+    private int activeSessions;
+    private long evictedSessions;
+    private Map<String, ChannelStatsDTO> channels;
+
+    @Getter
+    @Builder
+    public static class ChannelStatsDTO {
+        private int queueDepth;
+        private int activeThreads;
+        private long submitted;
+        private long completed;
+        private long rejected;
+        private long avgQueueWaitMicros;
+        private long maxQueueWaitMicros;
+        private long avgTaskMicros;
+    }
+}
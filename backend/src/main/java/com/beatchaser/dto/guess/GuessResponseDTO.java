@@ -2,14 +2,19 @@ package com.beatchaser.dto.guess;
 
 import lombok.*;
 
+import java.util.UUID;
+
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class GuessResponseDTO {
+    private UUID userId;
     private boolean correct;
+    private boolean skipped;
     private int pointsAwarded;
+    private int score;
     private boolean gameOver;
     private int currentRound;
     private int totalRounds;
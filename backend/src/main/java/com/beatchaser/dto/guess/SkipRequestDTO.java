@@ -0,0 +1,12 @@
+package com.beatchaser.dto.guess;
+
+import lombok.*;
+
+import java.util.UUID;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class SkipRequestDTO {
+    private UUID gameId;
+    private UUID userId;
+    private Integer roundNumber;
+}
@@ -0,0 +1,19 @@
+package com.beatchaser.dto.round;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Sent when a round opens, pointing at the clip of the round after it so clients can fetch it in the background.
+ */
+@Getter
+@Builder
+public class ClipPrefetch {
+    int roundNumber;
+    String url;
+    long length;
+    String etag;
+    Instant expiresAt;
+}
@@ -0,0 +1,18 @@
+package com.beatchaser.dto.round;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@Builder
+public class RoundEnded {
+    int roundNumber;
+    int totalRounds;
+    boolean solved;
+    boolean timedOut;
+    Instant endedAt;
+}
@@ -0,0 +1,19 @@
+package com.beatchaser.dto.round;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@Builder
+public class RoundStarted {
+    int currentRound;
+    int totalRounds;
+    Instant startedAt;
+    Instant deadline;
+    /** Signed URL of this round's audio clip. */
+    String clipUrl;
+}
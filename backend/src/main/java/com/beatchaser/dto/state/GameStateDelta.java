@@ -0,0 +1,36 @@
+package com.beatchaser.dto.state;
+
+import com.beatchaser.model.Game;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * One change to a game's state. Versions increase by exactly one per delta, so a client that sees a jump
+ * has missed something and should resubscribe to {@code /app/game/{gameId}/state} for a fresh snapshot.
+ * Only the fields relevant to {@code kind} are sent.
+ */
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GameStateDelta {
+
+    public static final String SCORE = "score";
+    public static final String ROUND_STARTED = "round-started";
+    public static final String ROUND_ENDED = "round-ended";
+    public static final String STATUS = "status";
+    public static final String ANSWERED = "answered";
+    public static final String SKIPPED = "skipped";
+
+    private long version;
+    private String kind;
+    private UUID userId;
+    private Integer score;
+    private Integer round;
+    private Long deadline;
+    private Boolean solved;
+    private Boolean correct;
+    private Game.GameStatus status;
+}
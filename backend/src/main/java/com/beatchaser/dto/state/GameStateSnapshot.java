@@ -0,0 +1,30 @@
+package com.beatchaser.dto.state;
+
+import com.beatchaser.model.Game;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Full state of a game at {@code version}. Deltas with a version at or below it are already included.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GameStateSnapshot {
+    private UUID gameId;
+    private long version;
+    private Game.GameStatus status;
+    private int currentRound;
+    private int totalRounds;
+    /** Epoch millis at which the current round stops accepting answers, 0 when no round is open. */
+    private long roundDeadline;
+    /** Signed URL of the open round's audio clip, null when no round is open. */
+    private String clipUrl;
+    private List<PlayerScore> players;
+}
@@ -0,0 +1,15 @@
+package com.beatchaser.dto.state;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerScore {
+    private UUID userId;
+    private int score;
+}
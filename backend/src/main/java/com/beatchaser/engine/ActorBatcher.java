@@ -0,0 +1,130 @@
+package com.beatchaser.engine;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Collects items per game and hands them to the game's actor shard as one batch.
+ * The first item for a game opens a window; everything that arrives before the window closes, or before the
+ * shard gets to the batch, is processed together. Under a burst this turns thousands of tiny tasks into a few
+ * large ones, at the cost of at most one window of added latency.
+ * When the shard's mailbox is full the batch keeps growing and dispatch is retried with exponential backoff;
+ * after {@code MAX_DISPATCH_ATTEMPTS} the batch is dropped and every item in it is failed back to its sender,
+ * as are items of a batch whose handler throws.
+ */
+@Slf4j
+public class ActorBatcher<T> implements AutoCloseable {
+
+    private static final long INITIAL_RETRY_DELAY_MS = 1;
+    private static final int MAX_DISPATCH_ATTEMPTS = 8;
+
+    private final GameActorExecutor gameActorExecutor;
+    private final long windowMs;
+    private final int maxPendingPerGame;
+    private final BiConsumer<UUID, List<T>> handler;
+    private final BiConsumer<T, Throwable> failure;
+    private final Map<UUID, List<T>> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService timer;
+
+    public ActorBatcher(String name, GameActorExecutor gameActorExecutor, long windowMs, int maxPendingPerGame,
+                        BiConsumer<UUID, List<T>> handler, BiConsumer<T, Throwable> failure) {
+        this.gameActorExecutor = gameActorExecutor;
+        this.windowMs = windowMs;
+        this.maxPendingPerGame = maxPendingPerGame;
+        this.handler = handler;
+        this.failure = failure;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues the item for its game. Returns false when the game already has the maximum number of pending items.
+     */
+    public boolean offer(UUID gameId, T item) {
+        boolean[] opened = new boolean[1];
+        boolean[] accepted = new boolean[1];
+        pending.compute(gameId, (id, items) -> {
+            if (items == null) {
+                items = new ArrayList<>();
+                opened[0] = true;
+            }
+            if (items.size() < maxPendingPerGame) {
+                items.add(item);
+                accepted[0] = true;
+            }
+            return items;
+        });
+        if (opened[0]) {
+            if (windowMs > 0) {
+                timer.schedule(() -> dispatch(gameId, 1), windowMs, TimeUnit.MILLISECONDS);
+            } else {
+                dispatch(gameId, 1);
+            }
+        }
+        return accepted[0];
+    }
+
+    private void dispatch(UUID gameId, int attempt) {
+        try {
+            gameActorExecutor.submit(gameId, () -> {
+                List<T> batch = pending.remove(gameId);
+                if (batch != null) {
+                    try {
+                        handler.accept(gameId, batch);
+                    } catch (RuntimeException e) {
+                        fail(batch, e);
+                        throw e;
+                    }
+                }
+                return null;
+            }).exceptionally(e -> {
+                log.error("Batch for game {} failed", gameId, GameActorExecutor.unwrap(e));
+                return null;
+            });
+        } catch (RejectedExecutionException e) {
+            if (attempt >= MAX_DISPATCH_ATTEMPTS) {
+                List<T> batch = pending.remove(gameId);
+                int size = batch != null ? batch.size() : 0;
+                log.error("Actor mailbox still full after {} attempts, dropping batch of {} for game {}", attempt, size, gameId);
+                if (batch != null) {
+                    fail(batch, new RejectedExecutionException("Game " + gameId + " is overloaded, try again"));
+                }
+                return;
+            }
+            // The shard's mailbox is full; keep the batch growing and try again after a growing delay
+            long delay = INITIAL_RETRY_DELAY_MS << (attempt - 1);
+            if (attempt == 1) {
+                log.warn("Actor mailbox full, delaying batch for game {}", gameId);
+            }
+            timer.schedule(() -> dispatch(gameId, attempt + 1), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void fail(List<T> batch, Throwable cause) {
+        for (T item : batch) {
+            try {
+                failure.accept(item, cause);
+            } catch (RuntimeException e) {
+                log.warn("Could not report failure for a batched item", e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        timer.shutdown();
+    }
+}
@@ -0,0 +1,78 @@
+package com.beatchaser.engine;
+
+import com.beatchaser.util.BoundedEditDistance;
+import com.beatchaser.util.TextNormalizer;
+import lombok.Getter;
+
+/**
+ * Precomputed accepted answers for a round. A folded guess is correct when it is within a small
+ * edit distance of the title alone, or of title and artist written in either order.
+ */
+public class AnswerKey {
+
+    private static final String SEPARATOR = " - ";
+
+    @Getter
+    private final String title;
+    @Getter
+    private final String artist;
+    private final char[][] accepted;
+    private final int[] maxDistances;
+
+    private AnswerKey(String title, String artist) {
+        this.title = title;
+        this.artist = artist;
+        if (artist.isEmpty()) {
+            accepted = new char[][]{title.toCharArray()};
+        } else {
+            accepted = new char[][]{
+                    title.toCharArray(),
+                    (title + " " + artist).toCharArray(),
+                    (artist + " " + title).toCharArray()
+            };
+        }
+        maxDistances = new int[accepted.length];
+        for (int i = 0; i < accepted.length; i++) {
+            maxDistances[i] = allowedTypos(accepted[i].length);
+        }
+    }
+
+    public static AnswerKey of(String rawTitle, String rawArtist) {
+        return new AnswerKey(TextNormalizer.normalizeAnswer(rawTitle), TextNormalizer.normalizeAnswer(rawArtist));
+    }
+
+    /**
+     * Restores a key stored in {@code Round.correctAnswer} by {@link #toStoredForm()}.
+     */
+    public static AnswerKey fromStoredForm(String stored) {
+        int split = stored.indexOf(SEPARATOR);
+        if (split < 0) {
+            return new AnswerKey(stored, "");
+        }
+        return new AnswerKey(stored.substring(0, split), stored.substring(split + SEPARATOR.length()));
+    }
+
+    // Folded text never contains '-', so the separator is unambiguous
+    public String toStoredForm() {
+        return artist.isEmpty() ? title : title + SEPARATOR + artist;
+    }
+
+    public boolean matches(CharSequence foldedGuess) {
+        if (foldedGuess.length() == 0 || title.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < accepted.length; i++) {
+            if (BoundedEditDistance.within(foldedGuess, accepted[i], maxDistances[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int allowedTypos(int length) {
+        if (length <= 4) return 0;
+        if (length <= 8) return 1;
+        if (length <= 16) return 2;
+        return 3;
+    }
+}
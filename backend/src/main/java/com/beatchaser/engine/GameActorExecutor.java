@@ -0,0 +1,95 @@
+package com.beatchaser.engine;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs every event for a game on the same single-threaded shard, so game state is mutated by one thread at a time
+ * without locks. Games are spread over a fixed number of shards by id, which lets throughput grow with cores
+ * as the number of concurrent games grows.
+ */
+@Component
+@Slf4j
+public class GameActorExecutor {
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    private final ExecutorService[] shards;
+
+    public GameActorExecutor(@Value("${beatchaser.game-actors.shards:0}") int shardCount,
+                             @Value("${beatchaser.game-actors.mailbox-capacity:10000}") int mailboxCapacity) {
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        shards = new ExecutorService[count];
+        for (int i = 0; i < count; i++) {
+            int shard = i;
+            shards[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(mailboxCapacity),
+                    runnable -> new Thread(() -> {
+                        CURRENT_SHARD.set(shard);
+                        runnable.run();
+                    }, "game-actor-" + shard),
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+        log.info("Game actor executor started with {} shards", count);
+    }
+
+    public <T> CompletableFuture<T> submit(UUID gameId, Supplier<T> task) {
+        int shard = shardOf(gameId);
+        if (Integer.valueOf(shard).equals(CURRENT_SHARD.get())) {
+            try {
+                return CompletableFuture.completedFuture(task.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return CompletableFuture.supplyAsync(task, shards[shard]);
+    }
+
+    /**
+     * Runs the task on the game's shard and waits for it. Exceptions thrown by the task are rethrown as-is.
+     */
+    public <T> T call(UUID gameId, Supplier<T> task) {
+        try {
+            return submit(gameId, task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for game " + gameId, e);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    public static RuntimeException unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof RuntimeException runtime ? runtime : new RuntimeException(cause);
+    }
+
+    private int shardOf(UUID gameId) {
+        return Math.floorMod(gameId.hashCode(), shards.length);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        for (ExecutorService shard : shards) {
+            shard.shutdown();
+        }
+        for (ExecutorService shard : shards) {
+            shard.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.beatchaser.engine;
+
+import com.beatchaser.exception.GameSessionFinishedException;
+import com.beatchaser.exception.GameSessionNotFoundException;
+import com.beatchaser.model.Game;
+import com.beatchaser.model.Round;
+import com.beatchaser.util.TextNormalizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds every running game in memory so guesses and skips are validated and scored
+ * without touching the database. Persistence happens afterwards, see GameStatePersister.
+ * Callers must run on the game's {@link GameActorExecutor} shard; game state itself is not synchronized.
+ */
+@Component
+@Slf4j
+public class GameStateEngine {
+
+    private static final int BASE_POINTS = 10;
+    private static final int BONUS_FAST = 5;
+    private static final int BONUS_OK = 3;
+
+    private final Map<UUID, LiveGame> games = new ConcurrentHashMap<>();
+    private final long roundDurationMs;
+    private final long answerGraceMs;
+
+    public GameStateEngine(@Value("${beatchaser.rounds.duration-ms:30000}") long roundDurationMs,
+                           @Value("${beatchaser.rounds.answer-grace-ms:500}") long answerGraceMs) {
+        this.roundDurationMs = roundDurationMs;
+        this.answerGraceMs = answerGraceMs;
+    }
+
+    public LiveGame register(UUID gameId, List<Round> rounds, List<UUID> playerIds) {
+        if (rounds.isEmpty()) {
+            throw new IllegalArgumentException("Game " + gameId + " has no rounds");
+        }
+        List<LiveRound> liveRounds = rounds.stream()
+                .map(round -> new LiveRound(round.getId(), round.getRoundNumber(), round.getSong().getId(), answerKeyOf(round),
+                        round.getFragmentStartMs() != null ? round.getFragmentStartMs() : 0))
+                .toList();
+        LiveGame liveGame = new LiveGame(gameId, liveRounds, playerIds);
+        openRound(liveGame.getCurrentRound());
+        games.put(gameId, liveGame);
+        log.debug("Registered live game {} with {} rounds", gameId, liveRounds.size());
+        return liveGame;
+    }
+
+    public long getAnswerGraceMs() {
+        return answerGraceMs;
+    }
+
+    public Optional<LiveGame> find(UUID gameId) {
+        return Optional.ofNullable(games.get(gameId));
+    }
+
+    public void evict(UUID gameId) {
+        games.remove(gameId);
+    }
+
+    public int size() {
+        return games.size();
+    }
+
+    public GuessOutcome submitGuess(UUID gameId, UUID userId, int roundNumber, UUID guessedSongId, String guessText,
+                                    Integer reactionTimeMs) {
+        String foldedGuess = guessText != null ? TextNormalizer.fold(guessText) : "";
+        LiveGame game = getRunningGame(gameId);
+        LiveRound round = claimRound(game, userId, roundNumber);
+        boolean correct = round.getSongId().equals(guessedSongId) || round.getAnswerKey().matches(foldedGuess);
+        int points = correct ? calculatePoints(reactionTimeMs) : 0;
+        if (correct) {
+            round.setSolved(true);
+        }
+        int score = game.getScores().merge(userId, points, Integer::sum);
+        return finishTurn(game, round, userId, correct, false, points, score);
+    }
+
+    public GuessOutcome skip(UUID gameId, UUID userId, int roundNumber) {
+        LiveGame game = getRunningGame(gameId);
+        LiveRound round = claimRound(game, userId, roundNumber);
+        int score = game.getScores().get(userId);
+        return finishTurn(game, round, userId, false, true, 0, score);
+    }
+
+    /**
+     * Closes the round when its deadline passes. Players who have not answered simply score nothing.
+     * Returns empty if the round was already closed by the last player's answer.
+     */
+    public Optional<GuessOutcome> expireRound(UUID gameId, int roundNumber) {
+        LiveGame game = games.get(gameId);
+        if (game == null || game.getStatus() != Game.GameStatus.RUNNING) {
+            return Optional.empty();
+        }
+        LiveRound round = game.getCurrentRound();
+        if (round.getRoundNumber() != roundNumber || round.isClosed()) {
+            return Optional.empty();
+        }
+        boolean gameOver = closeRound(game, round);
+        return Optional.of(GuessOutcome.builder()
+                .gameId(gameId)
+                .roundId(round.getRoundId())
+                .roundNumber(round.getRoundNumber())
+                .totalRounds(game.getTotalRounds())
+                .roundClosed(true)
+                .roundSolved(round.isSolved())
+                .timedOut(true)
+                .gameOver(gameOver)
+                .build());
+    }
+
+    private void openRound(LiveRound round) {
+        round.setStartedAt(LocalDateTime.now());
+        round.setDeadlineEpochMs(System.currentTimeMillis() + roundDurationMs);
+    }
+
+    /**
+     * @return true if this was the last round and the game is now finished
+     */
+    private boolean closeRound(LiveGame game, LiveRound round) {
+        round.setClosed(true);
+        if (round.getTimeout() != null) {
+            round.getTimeout().cancel();
+        }
+        if (game.isLastRound()) {
+            game.setStatus(Game.GameStatus.FINISHED);
+            return true;
+        }
+        game.setCurrentRoundIndex(game.getCurrentRoundIndex() + 1);
+        openRound(game.getCurrentRound());
+        return false;
+    }
+
+    private static AnswerKey answerKeyOf(Round round) {
+        if (round.getCorrectAnswer() != null && !round.getCorrectAnswer().isEmpty()) {
+            return AnswerKey.fromStoredForm(round.getCorrectAnswer());
+        }
+        return AnswerKey.of(round.getSong().getTitle(), round.getSong().getArtist());
+    }
+
+    private LiveGame getRunningGame(UUID gameId) {
+        LiveGame game = games.get(gameId);
+        if (game == null) {
+            throw new GameSessionNotFoundException("No running game with given id: " + gameId + " found");
+        }
+        if (game.getStatus() != Game.GameStatus.RUNNING) {
+            throw new GameSessionFinishedException("Game over, start a new game!");
+        }
+        return game;
+    }
+
+    private LiveRound claimRound(LiveGame game, UUID userId, int roundNumber) {
+        if (game.getStatus() != Game.GameStatus.RUNNING) {
+            throw new GameSessionFinishedException("Game over, start a new game!");
+        }
+        if (!game.getScores().containsKey(userId)) {
+            throw new IllegalArgumentException("User " + userId + " is not playing in game " + game.getGameId());
+        }
+        LiveRound round = game.getCurrentRound();
+        if (round.getRoundNumber() != roundNumber) {
+            throw new IllegalArgumentException("Round " + roundNumber + " is not active, current round is " + round.getRoundNumber());
+        }
+        if (System.currentTimeMillis() > round.getDeadlineEpochMs() + answerGraceMs) {
+            throw new IllegalArgumentException("Answer deadline for round " + roundNumber + " has passed");
+        }
+        if (!round.getAnsweredBy().add(userId)) {
+            throw new IllegalArgumentException("User " + userId + " already answered round " + roundNumber);
+        }
+        return round;
+    }
+
+    private GuessOutcome finishTurn(LiveGame game, LiveRound round, UUID userId, boolean correct, boolean skipped,
+                                    int points, int score) {
+        boolean roundClosed = round.getAnsweredBy().size() >= game.getScores().size();
+        boolean gameOver = roundClosed && closeRound(game, round);
+        return GuessOutcome.builder()
+                .gameId(game.getGameId())
+                .userId(userId)
+                .roundId(round.getRoundId())
+                .roundNumber(round.getRoundNumber())
+                .totalRounds(game.getTotalRounds())
+                .correct(correct)
+                .skipped(skipped)
+                .pointsAwarded(points)
+                .playerScore(score)
+                .roundClosed(roundClosed)
+                .roundSolved(round.isSolved())
+                .gameOver(gameOver)
+                .build();
+    }
+
+    private int calculatePoints(Integer reactionTimeMs) {
+        int points = BASE_POINTS;
+        if (reactionTimeMs != null) {
+            if (reactionTimeMs < 5000) points += BONUS_FAST;
+            else if (reactionTimeMs < 10000) points += BONUS_OK;
+        }
+        return points;
+    }
+}
@@ -0,0 +1,27 @@
+package com.beatchaser.engine;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Result of applying a guess or skip to a {@link LiveGame}.
+ */
+@Getter
+@Builder
+public class GuessOutcome {
+    private final UUID gameId;
+    private final UUID userId;
+    private final UUID roundId;
+    private final int roundNumber;
+    private final int totalRounds;
+    private final boolean correct;
+    private final boolean skipped;
+    private final int pointsAwarded;
+    private final int playerScore;
+    private final boolean roundClosed;
+    private final boolean roundSolved;
+    private final boolean timedOut;
+    private final boolean gameOver;
+}
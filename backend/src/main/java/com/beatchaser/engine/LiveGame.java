@@ -0,0 +1,52 @@
+package com.beatchaser.engine;
+
+import com.beatchaser.model.Game;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Authoritative in-memory state of a running game.
+ * Only touched from the game's {@link GameActorExecutor} shard.
+ */
+@Getter
+public class LiveGame {
+    private final UUID gameId;
+    private final List<LiveRound> rounds;
+    private final Map<UUID, Integer> scores = new LinkedHashMap<>();
+
+    @Setter
+    private Game.GameStatus status = Game.GameStatus.RUNNING;
+    @Setter
+    private int currentRoundIndex;
+    /** Version of the last published state change, see {@link com.beatchaser.service.GameStateEventService}. */
+    private long stateVersion;
+
+    public LiveGame(UUID gameId, List<LiveRound> rounds, Iterable<UUID> playerIds) {
+        this.gameId = gameId;
+        this.rounds = List.copyOf(rounds);
+        for (UUID playerId : playerIds) {
+            scores.put(playerId, 0);
+        }
+    }
+
+    public int getTotalRounds() {
+        return rounds.size();
+    }
+
+    public LiveRound getCurrentRound() {
+        return rounds.get(currentRoundIndex);
+    }
+
+    public boolean isLastRound() {
+        return currentRoundIndex >= rounds.size() - 1;
+    }
+
+    public long nextStateVersion() {
+        return ++stateVersion;
+    }
+}
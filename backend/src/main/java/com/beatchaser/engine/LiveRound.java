@@ -0,0 +1,39 @@
+package com.beatchaser.engine;
+
+import com.beatchaser.util.HashedTimingWheel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+@Getter
+public class LiveRound {
+    private final UUID roundId;
+    private final int roundNumber;
+    private final UUID songId;
+    private final AnswerKey answerKey;
+    private final int fragmentStartMs;
+    private final Set<UUID> answeredBy = new HashSet<>();
+
+    @Setter
+    private LocalDateTime startedAt;
+    @Setter
+    private long deadlineEpochMs;
+    @Setter
+    private HashedTimingWheel.Timeout timeout;
+    @Setter
+    private boolean closed;
+    @Setter
+    private boolean solved;
+
+    public LiveRound(UUID roundId, int roundNumber, UUID songId, AnswerKey answerKey, int fragmentStartMs) {
+        this.roundId = roundId;
+        this.roundNumber = roundNumber;
+        this.songId = songId;
+        this.answerKey = answerKey;
+        this.fragmentStartMs = fragmentStartMs;
+    }
+}
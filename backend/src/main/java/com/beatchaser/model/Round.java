@@ -32,6 +32,10 @@ public class Round {
     @Column(name = "ended_at")
     private LocalDateTime endedAt;
 
+    /** Where in the song the round's clip starts. */
+    @Column(name = "fragment_start_ms")
+    private Integer fragmentStartMs;
+
     @Column(name = "correct_answer", columnDefinition = "TEXT")
     private String correctAnswer;
 
@@ -0,0 +1,94 @@
+package com.beatchaser.provider;
+
+import com.beatchaser.cluster.ClusterTopology;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Short-lived HMAC tokens granting access to one round's audio clip. A token is {@code <expiry epoch s>.<signature>}
+ * over game id, round number and expiry, so verifying it needs no lookup.
+ */
+@Component
+@Slf4j
+public class ClipTokenSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+    private final ThreadLocal<Mac> macs;
+
+    public ClipTokenSigner(ClusterTopology clusterTopology,
+                           @Value("${beatchaser.audio.clip-token.secret:}") String secret,
+                           @Value("${beatchaser.audio.clip-token.ttl-ms:120000}") long ttlMs) {
+        byte[] keyBytes;
+        if (secret.isEmpty()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            if (clusterTopology.isClustered()) {
+                log.warn("beatchaser.audio.clip-token.secret is not set: clip tokens only verify on the node that issued them");
+            }
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.ttlSeconds = Math.max(1, ttlMs / 1000);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public SignedClip sign(UUID gameId, int roundNumber) {
+        long expires = Instant.now().getEpochSecond() + ttlSeconds;
+        return new SignedClip(expires + "." + signature(gameId, roundNumber, expires), Instant.ofEpochSecond(expires));
+    }
+
+    public boolean verify(UUID gameId, int roundNumber, String token) {
+        if (token == null) {
+            return false;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return false;
+        }
+        long expires;
+        try {
+            expires = Long.parseLong(token.substring(0, dot));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (expires < Instant.now().getEpochSecond()) {
+            return false;
+        }
+        byte[] expected = signature(gameId, roundNumber, expires).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, token.substring(dot + 1).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private String signature(UUID gameId, int roundNumber, long expires) {
+        Mac mac = macs.get();
+        byte[] digest = mac.doFinal((gameId + ":" + roundNumber + ":" + expires).getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 unavailable", e);
+        }
+    }
+
+    public record SignedClip(String token, Instant expiresAt) {
+    }
+}
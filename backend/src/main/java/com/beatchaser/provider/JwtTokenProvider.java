@@ -1,19 +1,31 @@
 package com.beatchaser.provider;
 
 import com.beatchaser.dto.user.CustomUserDetails;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
 
     private final SecretKey secretKey = Keys.hmacShaKeyFor("tajny_klucz_musi_byc_dluzszy_niz_32_znaki_dla_HS512".getBytes());
     private final long expiration = 86400000; // 1 dzień
+    // Thread-safe and immutable, so build it once instead of per token
+    private final JwtParser jwtParser = Jwts.parser().verifyWith(secretKey).build();
 
     public String generateToken(Authentication auth) {
         Date now = new Date();
@@ -31,24 +43,44 @@ public class JwtTokenProvider {
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+    /**
+     * Verifies the token and builds the principal from its claims in a single parse, without touching the database.
+     * Returns null when the token is invalid or expired.
+     */
+    public CustomUserDetails parseUser(String token) {
+        Claims claims;
+        try {
+            claims = jwtParser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        String id = claims.get("id", String.class);
+        if (id == null) {
+            return null;
+        }
+        return new CustomUserDetails(
+                UUID.fromString(id),
+                claims.getSubject(),
+                null,
+                claims.get("email", String.class),
+                authoritiesOf(claims.get("roles"))
+        );
     }
 
-    public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+    /**
+     * Roles are written as serialized {@link GrantedAuthority} objects, i.e. {@code [{"authority": "ROLE_USER"}]}.
+     */
+    private static Collection<GrantedAuthority> authoritiesOf(Object roles) {
+        if (!(roles instanceof Collection<?> values)) {
+            return List.of();
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>(values.size());
+        for (Object value : values) {
+            Object authority = value instanceof Map<?, ?> map ? map.get("authority") : value;
+            if (authority != null) {
+                authorities.add(new SimpleGrantedAuthority(authority.toString()));
+            }
         }
+        return authorities;
     }
 }
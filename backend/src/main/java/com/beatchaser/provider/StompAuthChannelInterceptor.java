@@ -0,0 +1,71 @@
+package com.beatchaser.provider;
+
+import com.beatchaser.dto.user.CustomUserDetails;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.UUID;
+
+/**
+ * Verifies the JWT sent in the STOMP CONNECT frame's {@code Authorization} header and binds the resulting principal
+ * to the WebSocket session. Spring then attaches it to every later message of that session, so handlers get the
+ * caller's identity without a lookup and {@code /user/queue/...} destinations resolve to the right sessions.
+ */
+@Component
+@Slf4j
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String AUTHORIZATION = "Authorization";
+    private static final String BEARER = "Bearer ";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final boolean required;
+
+    public StompAuthChannelInterceptor(JwtTokenProvider jwtTokenProvider,
+                                       @Value("${beatchaser.websocket.require-auth:true}") boolean required) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.required = required;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.CONNECT) {
+            return message;
+        }
+        String header = accessor.getFirstNativeHeader(AUTHORIZATION);
+        String token = header != null && header.startsWith(BEARER) ? header.substring(BEARER.length()) : header;
+        CustomUserDetails user = token == null ? null : jwtTokenProvider.parseUser(token);
+        if (user == null) {
+            if (required) {
+                // Rejected CONNECTs are answered with a STOMP ERROR frame and the session is closed
+                throw new BadCredentialsException("Missing or invalid token in STOMP CONNECT");
+            }
+            return message;
+        }
+        accessor.setUser(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        log.debug("STOMP session {} authenticated as {}", accessor.getSessionId(), user.getUsername());
+        return message;
+    }
+
+    /**
+     * Id of the user bound to the session, or null for an anonymous session.
+     */
+    public static UUID userIdOf(Principal principal) {
+        if (principal instanceof UsernamePasswordAuthenticationToken auth
+                && auth.getPrincipal() instanceof CustomUserDetails user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,96 @@
+package com.beatchaser.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes new games with plain JDBC. A game and all of its rounds are inserted by one statement
+ * (a data-modifying CTE over unnested arrays), so creating a game is a single round-trip however many rounds it has.
+ */
+@Repository
+@RequiredArgsConstructor
+public class GameCreationRepository {
+
+    private static final String INSERT_GAME_WITH_ROUNDS = """
+            WITH new_game AS (
+                INSERT INTO games (id, host_user_id, created_at, status, mode, max_players, visibility)
+                VALUES (?, ?, ?, 'PENDING', ?, ?, ?)
+            )
+            INSERT INTO rounds (id, game_id, round_number, song_id, started_at, fragment_start_ms, correct_answer, is_skipped)
+            SELECT r.id, ?, r.round_number, r.song_id, ?, r.fragment_start_ms, r.correct_answer, false
+            FROM unnest(?::uuid[], ?::int[], ?::uuid[], ?::int[], ?::text[])
+                AS r(id, round_number, song_id, fragment_start_ms, correct_answer)
+            """;
+
+    private static final String CLAIM_POOLED_GAME = """
+            UPDATE games SET host_user_id = ?, created_at = ?
+            WHERE id = ? AND host_user_id IS NULL AND status = 'PENDING'
+            """;
+
+    private static final String FIND_POOLED_GAMES = """
+            SELECT g.id FROM games g
+            WHERE g.host_user_id IS NULL AND g.status = 'PENDING' AND g.mode = ?
+              AND (SELECT count(*) FROM rounds r WHERE r.game_id = g.id) = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param hostUserId host, or null for a game kept in the pre-created pool
+     */
+    public void insertGameWithRounds(UUID gameId, UUID hostUserId, String mode, int maxPlayers, String visibility,
+                                     List<RoundRow> rounds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int size = rounds.size();
+        UUID[] ids = new UUID[size];
+        Integer[] numbers = new Integer[size];
+        UUID[] songIds = new UUID[size];
+        Integer[] fragmentStarts = new Integer[size];
+        String[] answers = new String[size];
+        for (int i = 0; i < size; i++) {
+            RoundRow round = rounds.get(i);
+            ids[i] = round.id();
+            numbers[i] = round.roundNumber();
+            songIds[i] = round.songId();
+            fragmentStarts[i] = round.fragmentStartMs();
+            answers[i] = round.correctAnswer();
+        }
+        jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement(INSERT_GAME_WITH_ROUNDS);
+            ps.setObject(1, gameId);
+            ps.setObject(2, hostUserId);
+            ps.setTimestamp(3, now);
+            ps.setString(4, mode);
+            ps.setInt(5, maxPlayers);
+            ps.setString(6, visibility);
+            ps.setObject(7, gameId);
+            ps.setTimestamp(8, now);
+            ps.setArray(9, con.createArrayOf("uuid", ids));
+            ps.setArray(10, con.createArrayOf("int4", numbers));
+            ps.setArray(11, con.createArrayOf("uuid", songIds));
+            ps.setArray(12, con.createArrayOf("int4", fragmentStarts));
+            ps.setArray(13, con.createArrayOf("text", answers));
+            return ps;
+        });
+    }
+
+    /**
+     * Hands a pre-created game to its host. Returns false if the game was already claimed.
+     */
+    public boolean claimPooledGame(UUID gameId, UUID hostUserId) {
+        return jdbcTemplate.update(CLAIM_POOLED_GAME, hostUserId, Timestamp.valueOf(LocalDateTime.now()), gameId) == 1;
+    }
+
+    public List<UUID> findPooledGames(String mode, int rounds) {
+        return jdbcTemplate.queryForList(FIND_POOLED_GAMES, UUID.class, mode, rounds);
+    }
+
+    public record RoundRow(UUID id, int roundNumber, UUID songId, int fragmentStartMs, String correctAnswer) {
+    }
+}
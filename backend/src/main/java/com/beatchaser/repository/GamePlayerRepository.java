@@ -3,6 +3,7 @@ package com.beatchaser.repository;
 import com.beatchaser.model.GamePlayer;
 import com.beatchaser.model.Song;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -15,4 +16,8 @@ public interface GamePlayerRepository extends JpaRepository<GamePlayer, GamePlay
     int getGamePlayersCount(@Param("gameId") UUID gameId);
 
     List<GamePlayer> getGamePlayersByGameId(UUID gameId);
+
+    @Modifying
+    @Query(value = "UPDATE game_players SET score = :score WHERE game_id = :gameId AND user_id = :userId", nativeQuery = true)
+    int updateScore(@Param("gameId") UUID gameId, @Param("userId") UUID userId, @Param("score") int score);
 }
@@ -2,8 +2,15 @@ package com.beatchaser.repository;
 
 import com.beatchaser.model.Game;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 public interface GameRepository extends JpaRepository<Game, UUID> {
+    @Modifying
+    @Query("UPDATE Game g SET g.status = :status, g.endedAt = :endedAt WHERE g.id = :gameId")
+    int markEnded(@Param("gameId") UUID gameId, @Param("status") Game.GameStatus status, @Param("endedAt") LocalDateTime endedAt);
 }
@@ -0,0 +1,80 @@
+package com.beatchaser.repository;
+
+import com.beatchaser.dto.game.gameplayer.GamePlayerDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Seats players with one conditional INSERT ... SELECT that only inserts while the game is below max_players,
+ * and returns the roster from the same statement. The game row is locked first, in the same transaction: under
+ * READ COMMITTED the insert's player count is only exact once no other join for the game can commit in between,
+ * whichever node it runs on.
+ */
+@Repository
+@RequiredArgsConstructor
+public class GameSeatRepository {
+
+    // Taken in its own statement, so the seat statement below gets a snapshot that sees every earlier join
+    private static final String LOCK_GAME = "SELECT id FROM games WHERE id = :gameId FOR UPDATE";
+
+    // Both parts of the statement read the same snapshot, so the roster half never contains the inserted row
+    private static final String TAKE_SEAT = """
+            WITH seat AS (
+                INSERT INTO game_players (game_id, user_id, joined_at, is_ready, is_host, score)
+                SELECT g.id, :userId, :joinedAt, true, coalesce(g.host_user_id = :userId, false), 0
+                FROM games g
+                WHERE g.id = :gameId
+                  AND (SELECT count(*) FROM game_players p WHERE p.game_id = g.id) < g.max_players
+                ON CONFLICT (game_id, user_id) DO NOTHING
+                RETURNING game_id, user_id, joined_at, is_ready, is_host, score
+            )
+            SELECT game_id, user_id, joined_at, is_ready, is_host, score, true AS seated FROM seat
+            UNION ALL
+            SELECT game_id, user_id, joined_at, is_ready, is_host, score, false FROM game_players WHERE game_id = :gameId
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public SeatResult takeSeat(UUID gameId, UUID userId) {
+        var params = new MapSqlParameterSource()
+                .addValue("gameId", gameId)
+                .addValue("userId", userId)
+                .addValue("joinedAt", Timestamp.valueOf(LocalDateTime.now()));
+        jdbcTemplate.query(LOCK_GAME, params, rs -> {
+        });
+        List<GamePlayerDTO> roster = new ArrayList<>();
+        GamePlayerDTO[] seated = new GamePlayerDTO[1];
+        jdbcTemplate.query(TAKE_SEAT, params, rs -> {
+            var player = GamePlayerDTO.builder()
+                    .gameId(rs.getObject("game_id", UUID.class))
+                    .userId(rs.getObject("user_id", UUID.class))
+                    .joinedAt(rs.getTimestamp("joined_at").toLocalDateTime())
+                    .isReady(rs.getBoolean("is_ready"))
+                    .isHost(rs.getBoolean("is_host"))
+                    .score(rs.getInt("score"))
+                    .build();
+            if (rs.getBoolean("seated")) {
+                seated[0] = player;
+            }
+            roster.add(player);
+        });
+        return new SeatResult(seated[0], roster);
+    }
+
+    /**
+     * @param seated the new player, or null if nothing was inserted
+     * @param roster every player of the game, including the new one
+     */
+    public record SeatResult(GamePlayerDTO seated, List<GamePlayerDTO> roster) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.beatchaser.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class LeaderboardRepository {
+
+    private static final String TOTALS = """
+            SELECT gp.user_id, SUM(gp.score) AS total, MAX(g.ended_at) AS last_ended_at
+            FROM game_players gp JOIN games g ON g.id = gp.game_id
+            WHERE g.status = 'FINISHED' AND (CAST(? AS timestamp) IS NULL OR g.ended_at <= ?)
+            GROUP BY gp.user_id
+            """;
+    private static final String GAME_SCORES = """
+            SELECT g.id AS game_id, g.ended_at, gp.user_id, gp.score
+            FROM game_players gp JOIN games g ON g.id = gp.game_id
+            WHERE g.status = 'FINISHED' AND g.ended_at > ?
+            ORDER BY g.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Streams each user's score total over games finished at or before {@code until}, or over all finished games
+     * when null. Runs in a read-only transaction so the driver honours the fetch size instead of buffering every row.
+     */
+    @Transactional(readOnly = true)
+    public void forEachTotal(LocalDateTime until, TotalConsumer consumer) {
+        Timestamp upTo = until != null ? Timestamp.valueOf(until) : null;
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(TOTALS);
+            ps.setTimestamp(1, upTo);
+            ps.setTimestamp(2, upTo);
+            ps.setFetchSize(10_000);
+            return ps;
+        }, rs -> {
+            Timestamp lastEndedAt = rs.getTimestamp("last_ended_at");
+            consumer.accept(rs.getObject("user_id", UUID.class), rs.getLong("total"),
+                    lastEndedAt != null ? lastEndedAt.toLocalDateTime() : null);
+        });
+    }
+
+    /**
+     * Streams one row per player of every game finished after {@code after}, with the rows of a game together.
+     */
+    @Transactional(readOnly = true)
+    public void forEachGameScore(LocalDateTime after, GameScoreConsumer consumer) {
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(GAME_SCORES);
+            ps.setTimestamp(1, Timestamp.valueOf(after));
+            ps.setFetchSize(10_000);
+            return ps;
+        }, rs -> {
+            consumer.accept(rs.getObject("game_id", UUID.class), rs.getTimestamp("ended_at").toLocalDateTime(),
+                    rs.getObject("user_id", UUID.class), rs.getInt("score"));
+        });
+    }
+
+    @FunctionalInterface
+    public interface GameScoreConsumer {
+        void accept(UUID gameId, LocalDateTime endedAt, UUID userId, int score);
+    }
+
+    @FunctionalInterface
+    public interface TotalConsumer {
+        void accept(UUID userId, long total, LocalDateTime lastEndedAt);
+    }
+}
@@ -2,9 +2,36 @@ package com.beatchaser.repository;
 
 import com.beatchaser.model.Round;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface RoundRepository extends JpaRepository<Round, UUID> {
+    @Query("SELECT r FROM Round r JOIN FETCH r.song WHERE r.game.id = :gameId ORDER BY r.roundNumber")
+    List<Round> findAllByGameIdWithSong(@Param("gameId") UUID gameId);
+
+    int countByGameId(UUID gameId);
+
+    @Query("SELECT r.song.id AS songId, r.fragmentStartMs AS fragmentStartMs FROM Round r "
+            + "WHERE r.game.id = :gameId AND r.roundNumber = :roundNumber")
+    Optional<ClipSource> findClipSource(@Param("gameId") UUID gameId, @Param("roundNumber") int roundNumber);
+
+    @Modifying
+    @Query("UPDATE Round r SET r.startedAt = :startedAt WHERE r.id = :roundId")
+    int markStarted(@Param("roundId") UUID roundId, @Param("startedAt") LocalDateTime startedAt);
+
+    @Modifying
+    @Query("UPDATE Round r SET r.endedAt = :endedAt, r.isSkipped = :skipped WHERE r.id = :roundId")
+    int markEnded(@Param("roundId") UUID roundId, @Param("endedAt") LocalDateTime endedAt, @Param("skipped") boolean skipped);
+
+    interface ClipSource {
+        UUID getSongId();
+
+        Integer getFragmentStartMs();
+    }
 }
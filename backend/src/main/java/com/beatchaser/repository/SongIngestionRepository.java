@@ -0,0 +1,99 @@
+package com.beatchaser.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk writes for the song ingestion pipeline. A whole batch is upserted by one statement keyed on external_id;
+ * the size and modification time of each source file are kept in the song's metadata under {@code source},
+ * which is what makes re-runs incremental.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SongIngestionRepository {
+
+    private static final String UPSERT_BATCH = """
+            WITH input AS (
+                SELECT * FROM unnest(?::text[], ?::text[], ?::text[], ?::text[], ?::int[], ?::text[], ?::text[])
+                    AS i(external_id, title, artist, album, duration_seconds, audio_preview_url, metadata)
+            ), updated AS (
+                UPDATE songs s
+                SET title = i.title, artist = i.artist, album = i.album, duration_seconds = i.duration_seconds,
+                    audio_preview_url = i.audio_preview_url, metadata = i.metadata::jsonb, updated_at = now()
+                FROM input i
+                WHERE s.external_id = i.external_id
+                RETURNING s.external_id
+            )
+            INSERT INTO songs (id, title, artist, album, duration_seconds, external_id, audio_preview_url, created_at, updated_at, metadata)
+            SELECT gen_random_uuid(), i.title, i.artist, i.album, i.duration_seconds, i.external_id,
+                   i.audio_preview_url, now(), now(), i.metadata::jsonb
+            FROM input i
+            WHERE NOT EXISTS (SELECT 1 FROM updated u WHERE u.external_id = i.external_id)
+            """;
+
+    private static final String FIND_SOURCE_STATES = """
+            SELECT external_id, metadata->'source'->>'size' AS size, metadata->'source'->>'modified' AS modified
+            FROM songs WHERE metadata->'source' IS NOT NULL
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Source file state of every ingested song, keyed by external id.
+     */
+    public Map<String, SourceState> findSourceStates() {
+        Map<String, SourceState> states = new HashMap<>();
+        jdbcTemplate.query(FIND_SOURCE_STATES, rs -> {
+            states.put(rs.getString("external_id"),
+                    new SourceState(Long.parseLong(rs.getString("size")), Long.parseLong(rs.getString("modified"))));
+        });
+        return states;
+    }
+
+    /**
+     * Updates songs whose external id already exists and inserts the rest, in one round-trip.
+     */
+    public void upsertBatch(List<SongRow> rows) {
+        int size = rows.size();
+        String[] externalIds = new String[size];
+        String[] titles = new String[size];
+        String[] artists = new String[size];
+        String[] albums = new String[size];
+        Integer[] durations = new Integer[size];
+        String[] paths = new String[size];
+        String[] metadata = new String[size];
+        for (int i = 0; i < size; i++) {
+            SongRow row = rows.get(i);
+            externalIds[i] = row.externalId();
+            titles[i] = row.title();
+            artists[i] = row.artist();
+            albums[i] = row.album();
+            durations[i] = row.durationSeconds();
+            paths[i] = row.audioPath();
+            metadata[i] = row.metadataJson();
+        }
+        jdbcTemplate.update(con -> {
+            var ps = con.prepareStatement(UPSERT_BATCH);
+            ps.setArray(1, con.createArrayOf("text", externalIds));
+            ps.setArray(2, con.createArrayOf("text", titles));
+            ps.setArray(3, con.createArrayOf("text", artists));
+            ps.setArray(4, con.createArrayOf("text", albums));
+            ps.setArray(5, con.createArrayOf("int4", durations));
+            ps.setArray(6, con.createArrayOf("text", paths));
+            ps.setArray(7, con.createArrayOf("text", metadata));
+            return ps;
+        });
+    }
+
+    public record SourceState(long size, long modified) {
+    }
+
+    public record SongRow(String externalId, String title, String artist, String album, Integer durationSeconds,
+                          String audioPath, String metadataJson) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.beatchaser.repository;
+
+import com.beatchaser.dto.SongDTO;
+import com.beatchaser.dto.SongFilter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Keyset-paginated and streamed reads over the songs table.
+ * Rows are ordered by (title, id); the matching indexes are created in data.sql.
+ */
+@Repository
+public class SongQueryRepository {
+
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    private static final String SELECT_SONGS =
+            "SELECT id, title, artist, album, duration_seconds, audio_preview_url FROM songs";
+
+    private static final RowMapper<SongDTO> SONG_ROW_MAPPER = (rs, rowNum) -> SongDTO.builder()
+            .id(rs.getObject("id", UUID.class))
+            .title(rs.getString("title"))
+            .artist(rs.getString("artist"))
+            .album(rs.getString("album"))
+            .durationSeconds(rs.getObject("duration_seconds", Integer.class))
+            .audioPreviewUrl(rs.getString("audio_preview_url"))
+            .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate streamingJdbcTemplate;
+
+    public SongQueryRepository(NamedParameterJdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(STREAM_FETCH_SIZE);
+        this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(streaming);
+    }
+
+    public List<SongDTO> findPage(SongFilter filter, String afterTitle, UUID afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        List<String> conditions = filterConditions(filter, params);
+        if (afterTitle != null && afterId != null) {
+            conditions.add("(title, id) > (:afterTitle, :afterId)");
+            params.addValue("afterTitle", afterTitle);
+            params.addValue("afterId", afterId);
+        }
+        params.addValue("limit", limit);
+        return jdbcTemplate.query(buildQuery(conditions) + " LIMIT :limit", params, SONG_ROW_MAPPER);
+    }
+
+    /**
+     * Streams every matching song to {@code consumer} from a server-side cursor.
+     * Must run inside a transaction, otherwise the Postgres driver ignores the fetch size and buffers all rows.
+     */
+    public void streamAll(SongFilter filter, Consumer<SongDTO> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        String sql = buildQuery(filterConditions(filter, params));
+        streamingJdbcTemplate.query(sql, params, (RowCallbackHandler) rs -> consumer.accept(SONG_ROW_MAPPER.mapRow(rs, rs.getRow())));
+    }
+
+    private List<String> filterConditions(SongFilter filter, MapSqlParameterSource params) {
+        List<String> conditions = new ArrayList<>();
+        if (filter == null) {
+            return conditions;
+        }
+        if (filter.getArtist() != null && !filter.getArtist().isBlank()) {
+            conditions.add("lower(artist) = lower(:artist)");
+            params.addValue("artist", filter.getArtist());
+        }
+        if (filter.getGenre() != null && !filter.getGenre().isBlank()) {
+            conditions.add("lower(metadata->>'genre') = lower(:genre)");
+            params.addValue("genre", filter.getGenre());
+        }
+        if (filter.getYear() != null) {
+            conditions.add("(metadata->>'year')::int = :year");
+            params.addValue("year", filter.getYear());
+        }
+        return conditions;
+    }
+
+    private String buildQuery(List<String> conditions) {
+        String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+        return SELECT_SONGS + where + " ORDER BY title, id";
+    }
+}
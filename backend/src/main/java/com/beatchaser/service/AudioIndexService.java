@@ -0,0 +1,127 @@
+package com.beatchaser.service;
+
+import com.beatchaser.util.Mp3FrameIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Frame indexes of song files. Each file is parsed once; the index is kept in memory and persisted to
+ * {@code beatchaser.audio.index-dir} next to the ETag of the file it was built from, so restarts reuse it
+ * and a replaced file is re-indexed.
+ */
+@Service
+@Slf4j
+public class AudioIndexService {
+
+    private final Path indexDir;
+    private final int intervalMs;
+    private final Map<UUID, CachedIndex> indexes = new ConcurrentHashMap<>();
+
+    public AudioIndexService(@Value("${beatchaser.audio.index-dir:${java.io.tmpdir}/beatchaser-audio-index}") String indexDir,
+                             @Value("${beatchaser.audio.index-interval-ms:250}") int intervalMs) {
+        this.indexDir = Path.of(indexDir);
+        this.intervalMs = intervalMs;
+    }
+
+    public Mp3FrameIndex indexOf(UUID songId, SongAudioService.AudioFile audio) throws IOException {
+        while (true) {
+            CachedIndex cached = indexes.get(songId);
+            if (cached != null && cached.etag().equals(audio.etag())) {
+                return await(cached.index());
+            }
+            // Claim the song with a pending entry, so concurrent first requests wait for one parse, and do the
+            // file IO outside the map, where it would block every other song hashing to the same bin
+            CachedIndex claimed = new CachedIndex(audio.etag(), new CompletableFuture<>());
+            boolean won = cached == null
+                    ? indexes.putIfAbsent(songId, claimed) == null
+                    : indexes.replace(songId, cached, claimed);
+            if (!won) {
+                continue;
+            }
+            try {
+                Mp3FrameIndex index = loadOrBuild(songId, audio);
+                claimed.index().complete(index);
+                return index;
+            } catch (IOException | RuntimeException e) {
+                // Let the next request retry instead of caching the failure
+                indexes.remove(songId, claimed);
+                claimed.index().completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    private static Mp3FrameIndex await(CompletableFuture<Mp3FrameIndex> pending) throws IOException {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    private Mp3FrameIndex loadOrBuild(UUID songId, SongAudioService.AudioFile audio) throws IOException {
+        Path file = indexDir.resolve(songId + ".idx");
+        Mp3FrameIndex stored = load(file, audio.etag());
+        if (stored != null && stored.getIntervalMs() == intervalMs) {
+            return stored;
+        }
+        long started = System.nanoTime();
+        Mp3FrameIndex index = Mp3FrameIndex.build(audio.path(), intervalMs);
+        log.debug("Indexed audio of song {} ({} ms of audio) in {} ms", songId, index.getDurationMs(),
+                (System.nanoTime() - started) / 1_000_000);
+        store(file, audio.etag(), index);
+        return index;
+    }
+
+    private Mp3FrameIndex load(Path file, String etag) {
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return etag.equals(in.readUTF()) ? Mp3FrameIndex.readFrom(in) : null;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable audio index {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void store(Path file, String etag, Mp3FrameIndex index) {
+        try {
+            Files.createDirectories(indexDir);
+            Path temp = Files.createTempFile(indexDir, file.getFileName().toString(), ".tmp");
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeUTF(etag);
+                index.writeTo(out);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // The in-memory index still serves this node, only a restart pays for parsing again
+            log.warn("Could not persist audio index {}: {}", file, e.getMessage());
+        }
+    }
+
+    /** {@code index} completes once the file has been indexed; entries are compared by identity of the future. */
+    private record CachedIndex(String etag, CompletableFuture<Mp3FrameIndex> index) {
+    }
+}
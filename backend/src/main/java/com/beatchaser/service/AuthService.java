@@ -1,32 +1,52 @@
 package com.beatchaser.service;
 
 import com.beatchaser.dto.user.CustomUserDetails;
-import com.beatchaser.dto.user.LoginRequest;
 import com.beatchaser.dto.user.RegisterRequest;
 import com.beatchaser.model.User;
 import com.beatchaser.provider.JwtTokenProvider;
 import com.beatchaser.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.beatchaser.config.AsyncConfig;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginActivityRecorder loginActivityRecorder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final UserRoles userRoles;
+    private final ThreadPoolTaskExecutor requestExecutor;
 
-    public void registerUser(RegisterRequest request) {
+    public AuthService(UserRepository userRepository,
+                       PasswordHashingService passwordHashingService,
+                       LoginActivityRecorder loginActivityRecorder,
+                       JwtTokenProvider jwtTokenProvider,
+                       UserRoles userRoles,
+                       @Qualifier(AsyncConfig.REQUEST_EXECUTOR) ThreadPoolTaskExecutor requestExecutor) {
+        this.userRepository = userRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.loginActivityRecorder = loginActivityRecorder;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.userRoles = userRoles;
+        this.requestExecutor = requestExecutor;
+    }
+
+    /**
+     * Hashes the password on the hashing pool, then stores the user on the request executor and returns a token
+     * for it right away, without verifying the password it just hashed.
+     */
+    public CompletableFuture<String> registerUser(RegisterRequest request) {
         if (userRepository.findByUsername(request.getUsername()).isPresent()) {
             throw new RuntimeException("Username already exists");
         }
@@ -35,25 +55,48 @@ public class AuthService {
             throw new RuntimeException("Email already exists");
         }
 
-        User user = User.builder()
-                .username(request.getUsername())
-                .email(request.getEmail())
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
-                .createdAt(LocalDateTime.now())
-                .isActive(true)
-                .build();
+        return passwordHashingService.encode(request.getPassword()).thenApplyAsync(passwordHash -> {
+            User user = User.builder()
+                    .username(request.getUsername())
+                    .email(request.getEmail())
+                    .passwordHash(passwordHash)
+                    .createdAt(LocalDateTime.now())
+                    .lastLoginAt(LocalDateTime.now())
+                    .isActive(true)
+                    .build();
 
-        userRepository.save(user);
+            try {
+                userRepository.save(user);
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent registration took the name or email after the checks above
+                throw new RuntimeException(userRepository.findByUsername(request.getUsername()).isPresent()
+                        ? "Username already exists" : "Email already exists");
+            }
+            return issueToken(user);
+        }, requestExecutor);
     }
-    public String loginUser(String username, String password) {
-        Authentication auth = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(username, password)
+
+    public CompletableFuture<String> loginUser(String username, String password) {
+        User user = userRepository.findByUsername(username).orElse(null);
+        return passwordHashingService.matches(password, user != null ? user.getPasswordHash() : null)
+                .thenApply(matches -> {
+                    if (!matches) {
+                        throw new BadCredentialsException("Bad credentials");
+                    }
+                    loginActivityRecorder.record(user.getId());
+                    return issueToken(user);
+                });
+    }
+
+    private String issueToken(User user) {
+        var userDetails = new CustomUserDetails(
+                user.getId(),
+                user.getUsername(),
+                null,
+                user.getEmail(),
+                userRoles.authoritiesOf(user.getUsername())
         );
-        var user = (CustomUserDetails) auth.getPrincipal();
-        userRepository.findById(user.getId()).ifPresent(u -> {
-            u.setLastLoginAt(LocalDateTime.now());
-            userRepository.save(u);
-        });
-        return jwtTokenProvider.generateToken(auth);
+        return jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
     }
-}
\ No newline at end of file
+}
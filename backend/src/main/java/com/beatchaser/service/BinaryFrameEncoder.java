@@ -0,0 +1,150 @@
+package com.beatchaser.service;
+
+import com.beatchaser.dto.WebSocketMessage;
+import com.beatchaser.util.ReusableByteArrayOutputStream;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.BinaryNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of game events for clients subscribed to {@code /topic/game-{id}/events.bin}.
+ * A frame is a format byte, the event type as a varint id from {@link #EVENT_TYPES} (0 followed by the
+ * length-prefixed name for unregistered types), the timestamp as varint epoch millis, and the payload as CBOR,
+ * where UUIDs are 16-byte strings, numbers use the shortest integer form and dates are epoch millis.
+ */
+@Component
+public class BinaryFrameEncoder {
+
+    public static final byte FORMAT_VERSION = 1;
+    /** Type ids are positions in this list plus one; only ever append to it. */
+    public static final List<String> EVENT_TYPES = List.of(
+            "game-started", "game-over", "guess", "round-start", "round-end", "state-snapshot", "state-delta",
+            "guess-batch", "clip-prefetch");
+
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    private static final int MAX_POOLED_BUFFER_SIZE = 256 * 1024;
+    private static final Map<String, Integer> TYPE_IDS = new HashMap<>();
+
+    static {
+        for (int i = 0; i < EVENT_TYPES.size(); i++) {
+            TYPE_IDS.put(EVENT_TYPES.get(i), i + 1);
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final CBORMapper cborMapper;
+    private final ThreadLocal<ReusableByteArrayOutputStream> buffers = ThreadLocal.withInitial(() -> new ReusableByteArrayOutputStream(INITIAL_BUFFER_SIZE));
+
+    public BinaryFrameEncoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.cborMapper = CBORMapper.builder()
+                .addModule(new JavaTimeModule())
+                .enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+    }
+
+    public byte[] encode(WebSocketMessage<?> message) {
+        return encode(message.getType(), message.getTimestamp().toEpochMilli(), message.getPayload());
+    }
+
+    /**
+     * Re-encodes an event that arrived as JSON, e.g. from another node. JSON has no UUID type, so strings in
+     * canonical UUID form are written as 16-byte strings to match frames encoded from the event itself.
+     */
+    public byte[] encodeJson(String json) {
+        try {
+            JsonNode tree = objectMapper.readTree(json);
+            JsonNode payload = tree.get("payload");
+            return encode(tree.path("type").asText(), Instant.parse(tree.path("timestamp").asText()).toEpochMilli(),
+                    payload == null ? null : binaryUuids(payload));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed event JSON", e);
+        }
+    }
+
+    private static JsonNode binaryUuids(JsonNode node) {
+        if (node instanceof ObjectNode object) {
+            object.properties().forEach(field -> field.setValue(binaryUuids(field.getValue())));
+        } else if (node instanceof ArrayNode array) {
+            for (int i = 0; i < array.size(); i++) {
+                array.set(i, binaryUuids(array.get(i)));
+            }
+        } else if (node.isTextual() && isUuid(node.textValue())) {
+            UUID uuid = UUID.fromString(node.textValue());
+            return BinaryNode.valueOf(ByteBuffer.allocate(16)
+                    .putLong(uuid.getMostSignificantBits())
+                    .putLong(uuid.getLeastSignificantBits())
+                    .array());
+        }
+        return node;
+    }
+
+    /** Only the canonical lowercase form Jackson writes, so other text never changes type. */
+    private static boolean isUuid(String text) {
+        if (text.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = text.charAt(i);
+            boolean valid = (i == 8 || i == 13 || i == 18 || i == 23) ? c == '-' : (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f');
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte[] encode(String type, long timestampMs, Object payload) {
+        ReusableByteArrayOutputStream buffer = buffers.get();
+        buffer.reset();
+        try {
+            buffer.write(FORMAT_VERSION);
+            Integer typeId = TYPE_IDS.get(type);
+            if (typeId != null) {
+                writeVarint(buffer, typeId);
+            } else {
+                byte[] name = type.getBytes(StandardCharsets.UTF_8);
+                writeVarint(buffer, 0);
+                writeVarint(buffer, name.length);
+                buffer.write(name, 0, name.length);
+            }
+            writeVarint(buffer, timestampMs);
+            if (payload != null) {
+                cborMapper.writeValue(buffer, payload);
+            }
+            return buffer.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not encode " + type + " event", e);
+        } finally {
+            if (buffer.capacity() > MAX_POOLED_BUFFER_SIZE) {
+                buffers.remove();
+            }
+        }
+    }
+
+    private static void writeVarint(ReusableByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
@@ -0,0 +1,84 @@
+package com.beatchaser.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts this node's subscriptions to the binary game event topic, so events are only encoded a second time
+ * for games that have at least one binary client.
+ */
+@Component
+@Slf4j
+public class BinarySubscriptionTracker {
+
+    public static final String BINARY_SUFFIX = ".bin";
+    private static final String PREFIX = "/topic/game-";
+    private static final String SUFFIX = "/events" + BINARY_SUFFIX;
+
+    private final Map<UUID, AtomicInteger> subscribers = new ConcurrentHashMap<>();
+    /** sessionId -> (subscriptionId -> gameId), needed because UNSUBSCRIBE frames carry no destination. */
+    private final Map<String, Map<String, UUID>> sessions = new ConcurrentHashMap<>();
+
+    public boolean hasSubscribers(UUID gameId) {
+        AtomicInteger count = subscribers.get(gameId);
+        return count != null && count.get() > 0;
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        UUID gameId = parseGameId(accessor.getDestination());
+        if (gameId == null || accessor.getSessionId() == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        sessions.computeIfAbsent(accessor.getSessionId(), key -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), gameId);
+        subscribers.computeIfAbsent(gameId, key -> new AtomicInteger()).incrementAndGet();
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, UUID> subscriptions = accessor.getSessionId() == null ? null : sessions.get(accessor.getSessionId());
+        if (subscriptions != null && accessor.getSubscriptionId() != null) {
+            release(subscriptions.remove(accessor.getSubscriptionId()));
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, UUID> subscriptions = sessions.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::release);
+        }
+    }
+
+    private void release(UUID gameId) {
+        if (gameId == null) {
+            return;
+        }
+        subscribers.computeIfPresent(gameId, (key, count) -> count.decrementAndGet() <= 0 ? null : count);
+    }
+
+    private static UUID parseGameId(String destination) {
+        if (destination == null || !destination.startsWith(PREFIX) || !destination.endsWith(SUFFIX)) {
+            return null;
+        }
+        try {
+            return UUID.fromString(destination.substring(PREFIX.length(), destination.length() - SUFFIX.length()));
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring binary subscription to malformed destination {}", destination);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.beatchaser.service;
+
+import com.beatchaser.dto.WebSocketMessage;
+import com.beatchaser.util.ReusableByteArrayOutputStream;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Encodes a broadcast event to JSON exactly once. Serialization goes through a pre-built writer into a
+ * per-thread buffer that is reused across sends, so the only allocation left per event is the final byte array
+ * that the broker hands, unchanged, to every subscribed session.
+ */
+@Component
+public class BroadcastFrameEncoder {
+
+    private static final int INITIAL_BUFFER_SIZE = 4 * 1024;
+    /** Buffers that grew past this after an unusually large event are dropped instead of pooled. */
+    private static final int MAX_POOLED_BUFFER_SIZE = 256 * 1024;
+
+    private final ObjectWriter writer;
+    private final ThreadLocal<ReusableByteArrayOutputStream> buffers = ThreadLocal.withInitial(() -> new ReusableByteArrayOutputStream(INITIAL_BUFFER_SIZE));
+
+    public BroadcastFrameEncoder(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writerFor(WebSocketMessage.class);
+    }
+
+    public byte[] encode(WebSocketMessage<?> message) {
+        ReusableByteArrayOutputStream buffer = buffers.get();
+        buffer.reset();
+        try {
+            writer.writeValue(buffer, message);
+            return buffer.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize " + message.getType() + " event", e);
+        } finally {
+            if (buffer.capacity() > MAX_POOLED_BUFFER_SIZE) {
+                buffers.remove();
+            }
+        }
+    }
+}
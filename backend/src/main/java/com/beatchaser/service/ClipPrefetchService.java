@@ -0,0 +1,139 @@
+package com.beatchaser.service;
+
+import com.beatchaser.dto.round.ClipPrefetch;
+import com.beatchaser.engine.LiveGame;
+import com.beatchaser.provider.ClipTokenSigner;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Issues signed clip URLs and, when a round opens, loads the current and next clip into the {@link HotClipCache}
+ * and tells clients about the next one with a {@code clip-prefetch} event. All of it is best effort and runs
+ * off the game actor, since indexing a song for the first time reads the whole file.
+ * <p>
+ * Browsers cache clips by URL, so the URL announced for the next round is remembered and handed out again when
+ * that round starts; signing it afresh would change the token and the prefetched response would never be reused.
+ */
+@Service
+@Slf4j
+public class ClipPrefetchService {
+
+    /** An announced token is reused only if clients still have this long to fetch the clip with it. */
+    private static final Duration MIN_REMAINING = Duration.ofSeconds(30);
+
+    private final RoundClipService roundClipService;
+    private final HotClipCache hotClipCache;
+    private final ClipTokenSigner clipTokenSigner;
+    private final WebSocketService webSocketService;
+    private final ThreadPoolExecutor loader;
+    /** The one upcoming round announced per game, replaced by the next announcement. */
+    private final Map<UUID, Announced> announced = new ConcurrentHashMap<>();
+
+    public ClipPrefetchService(RoundClipService roundClipService,
+                               HotClipCache hotClipCache,
+                               ClipTokenSigner clipTokenSigner,
+                               WebSocketService webSocketService,
+                               @Value("${beatchaser.audio.prefetch.threads:2}") int threads,
+                               @Value("${beatchaser.audio.prefetch.queue-capacity:1000}") int queueCapacity) {
+        this.roundClipService = roundClipService;
+        this.hotClipCache = hotClipCache;
+        this.clipTokenSigner = clipTokenSigner;
+        this.webSocketService = webSocketService;
+        AtomicInteger counter = new AtomicInteger();
+        // A dropped hint only means clients fetch the clip when its round starts
+        this.loader = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "clip-prefetch-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * URL of the round's clip: the one announced in the {@code clip-prefetch} event if it is still valid long enough,
+     * a freshly signed one otherwise.
+     */
+    public String clipUrl(UUID gameId, int roundNumber) {
+        Announced previous = announced.get(gameId);
+        if (previous != null && previous.roundNumber() == roundNumber
+                && previous.signed().expiresAt().isAfter(Instant.now().plus(MIN_REMAINING))) {
+            return clipUrl(gameId, roundNumber, previous.signed());
+        }
+        return clipUrl(gameId, roundNumber, clipTokenSigner.sign(gameId, roundNumber));
+    }
+
+    /**
+     * Call when the game ends.
+     */
+    public void gameEnded(UUID gameId) {
+        announced.remove(gameId);
+    }
+
+    private static String clipUrl(UUID gameId, int roundNumber, ClipTokenSigner.SignedClip signed) {
+        return "/api/game/" + gameId + "/round/" + roundNumber + "/clip?token=" + signed.token();
+    }
+
+    /**
+     * Call on the game's actor right after the round opened.
+     */
+    public void roundOpened(LiveGame game) {
+        UUID gameId = game.getGameId();
+        int current = game.getCurrentRound().getRoundNumber();
+        Integer next = game.isLastRound() ? null : game.getRounds().get(game.getCurrentRoundIndex() + 1).getRoundNumber();
+        loader.execute(() -> {
+            warm(gameId, current);
+            if (next != null) {
+                announce(gameId, next);
+            }
+        });
+    }
+
+    private RoundClipService.Clip warm(UUID gameId, int roundNumber) {
+        var clip = roundClipService.find(gameId, roundNumber).orElse(null);
+        if (clip != null) {
+            try {
+                hotClipCache.load(clip);
+            } catch (IOException e) {
+                log.debug("Could not preload clip of round {} in game {}: {}", roundNumber, gameId, e.getMessage());
+            }
+        }
+        return clip;
+    }
+
+    private void announce(UUID gameId, int roundNumber) {
+        var clip = warm(gameId, roundNumber);
+        if (clip == null) {
+            return;
+        }
+        var signed = clipTokenSigner.sign(gameId, roundNumber);
+        announced.put(gameId, new Announced(roundNumber, signed));
+        webSocketService.sendClipPrefetchEvent(gameId, ClipPrefetch.builder()
+                .roundNumber(roundNumber)
+                .url(clipUrl(gameId, roundNumber, signed))
+                .length(clip.length())
+                .etag(clip.etag())
+                .expiresAt(signed.expiresAt())
+                .build());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        loader.shutdownNow();
+    }
+
+    private record Announced(int roundNumber, ClipTokenSigner.SignedClip signed) {
+    }
+}
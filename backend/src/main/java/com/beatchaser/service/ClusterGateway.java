@@ -0,0 +1,187 @@
+package com.beatchaser.service;
+
+import com.beatchaser.cluster.ClusterBus;
+import com.beatchaser.cluster.ClusterMessage;
+import com.beatchaser.cluster.ClusterTopology;
+import com.beatchaser.dto.guess.GuessRequestDTO;
+import com.beatchaser.dto.guess.SkipRequestDTO;
+import com.beatchaser.dto.state.GameStateSnapshot;
+import com.beatchaser.engine.GameActorExecutor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bridges this node and the cluster bus: replays events published by other nodes to local subscribers,
+ * executes guesses and skips forwarded by nodes that received them for a game owned here, and answers
+ * state snapshot requests for games owned here, since only the owner holds the live, versioned state.
+ */
+@Service
+@Slf4j
+public class ClusterGateway {
+
+    private final ClusterTopology clusterTopology;
+    private final ClusterBus clusterBus;
+    private final WebSocketService webSocketService;
+    private final GuessService guessService;
+    private final GameStateEventService gameStateEventService;
+    private final ObjectMapper objectMapper;
+    private final long requestTimeoutMs;
+    private final Map<String, CompletableFuture<GameStateSnapshot>> pendingSnapshots = new ConcurrentHashMap<>();
+
+    public ClusterGateway(ClusterTopology clusterTopology,
+                          ClusterBus clusterBus,
+                          WebSocketService webSocketService,
+                          GuessService guessService,
+                          GameStateEventService gameStateEventService,
+                          ObjectMapper objectMapper,
+                          @Value("${beatchaser.cluster.request-timeout-ms:3000}") long requestTimeoutMs) {
+        this.clusterTopology = clusterTopology;
+        this.clusterBus = clusterBus;
+        this.webSocketService = webSocketService;
+        this.guessService = guessService;
+        this.gameStateEventService = gameStateEventService;
+        this.objectMapper = objectMapper;
+        this.requestTimeoutMs = requestTimeoutMs;
+    }
+
+    @PostConstruct
+    void subscribe() {
+        clusterBus.subscribe(this::onMessage);
+    }
+
+    /**
+     * @param replyTo user name that receives an error frame if the owner node rejects the guess, or null
+     */
+    public void forwardGuess(GuessRequestDTO request, String replyTo) {
+        forward(ClusterMessage.Type.GUESS, request.getGameId(), request, replyTo);
+    }
+
+    public void forwardSkip(SkipRequestDTO request, String replyTo) {
+        forward(ClusterMessage.Type.SKIP, request.getGameId(), request, replyTo);
+    }
+
+    /**
+     * Asks the game's owner node for its state snapshot. Completes exceptionally if the owner fails or does not
+     * answer within the request timeout; a non-owner never substitutes its own, unversioned view.
+     */
+    public CompletableFuture<GameStateSnapshot> requestSnapshot(UUID gameId) {
+        String correlationId = UUID.randomUUID().toString();
+        CompletableFuture<GameStateSnapshot> reply = new CompletableFuture<>();
+        pendingSnapshots.put(correlationId, reply);
+        clusterBus.publish(ClusterMessage.builder()
+                .type(ClusterMessage.Type.SNAPSHOT_REQUEST)
+                .sourceNode(clusterTopology.getNodeId())
+                .targetNode(clusterTopology.ownerOf(gameId))
+                .gameId(gameId)
+                .correlationId(correlationId)
+                .build());
+        return reply.orTimeout(requestTimeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((snapshot, e) -> pendingSnapshots.remove(correlationId));
+    }
+
+    private void forward(ClusterMessage.Type type, UUID gameId, Object request, String replyTo) {
+        String owner = clusterTopology.ownerOf(gameId);
+        log.debug("Forwarding {} for game {} to node {}", type, gameId, owner);
+        clusterBus.publish(ClusterMessage.builder()
+                .type(type)
+                .sourceNode(clusterTopology.getNodeId())
+                .targetNode(owner)
+                .gameId(gameId)
+                .payload(write(request))
+                .replyTo(replyTo)
+                .build());
+    }
+
+    private void onMessage(ClusterMessage message) {
+        String self = clusterTopology.getNodeId();
+        if (self.equals(message.getSourceNode())
+                || (message.getTargetNode() != null && !self.equals(message.getTargetNode()))) {
+            return;
+        }
+        switch (message.getType()) {
+            case EVENT -> {
+                if (clusterTopology.isEventFanOut()) {
+                    webSocketService.deliverLocally(message.getGameId(), message.getDestination(), message.getPayload());
+                }
+            }
+            case GUESS -> guessService.submitGuess(read(message, GuessRequestDTO.class))
+                    .exceptionally(e -> replyFailure(message, e));
+            case SKIP -> guessService.skipRound(read(message, SkipRequestDTO.class))
+                    .exceptionally(e -> replyFailure(message, e));
+            // A game that is not live is read from the database, which must not happen on the bus delivery thread
+            case SNAPSHOT_REQUEST -> CompletableFuture.supplyAsync(() -> gameStateEventService.snapshot(message.getGameId()))
+                    .thenCompose(snapshot -> snapshot)
+                    .thenAccept(snapshot -> clusterBus.publish(ClusterMessage.builder()
+                            .type(ClusterMessage.Type.SNAPSHOT_REPLY)
+                            .sourceNode(self)
+                            .targetNode(message.getSourceNode())
+                            .gameId(message.getGameId())
+                            .payload(write(snapshot))
+                            .correlationId(message.getCorrelationId())
+                            .build()))
+                    .exceptionally(e -> replyFailure(message, e));
+            case SNAPSHOT_REPLY -> {
+                CompletableFuture<GameStateSnapshot> pending = pendingSnapshots.get(message.getCorrelationId());
+                if (pending != null) {
+                    pending.complete(read(message, GameStateSnapshot.class));
+                }
+            }
+            case COMMAND_FAILED -> {
+                if (message.getCorrelationId() != null) {
+                    CompletableFuture<GameStateSnapshot> pending = pendingSnapshots.get(message.getCorrelationId());
+                    if (pending != null) {
+                        pending.completeExceptionally(new IllegalStateException(message.getPayload()));
+                    }
+                } else if (message.getReplyTo() != null) {
+                    webSocketService.sendError(message.getReplyTo(), message.getPayload());
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends the error back to the node the command came from, which holds the sender's session or the pending request.
+     */
+    private <T> T replyFailure(ClusterMessage message, Throwable e) {
+        String error = GameActorExecutor.unwrap(e).getMessage();
+        log.warn("Error processing forwarded {} for game {}: {}", message.getType(), message.getGameId(), error);
+        if (message.getReplyTo() != null || message.getCorrelationId() != null) {
+            clusterBus.publish(ClusterMessage.builder()
+                    .type(ClusterMessage.Type.COMMAND_FAILED)
+                    .sourceNode(clusterTopology.getNodeId())
+                    .targetNode(message.getSourceNode())
+                    .gameId(message.getGameId())
+                    .payload(error)
+                    .replyTo(message.getReplyTo())
+                    .correlationId(message.getCorrelationId())
+                    .build());
+        }
+        return null;
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    private <T> T read(ClusterMessage message, Class<T> type) {
+        try {
+            return objectMapper.readValue(message.getPayload(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed " + message.getType() + " message from " + message.getSourceNode(), e);
+        }
+    }
+}
@@ -1,24 +1,42 @@
 package com.beatchaser.service;
 
-import com.beatchaser.model.GamePlayer;
-import com.beatchaser.repository.GamePlayerRepository;
-import com.beatchaser.repository.GameRepository;
+import com.beatchaser.dto.game.gameplayer.GamePlayerDTO;
+import com.beatchaser.model.Game;
+import com.beatchaser.repository.GameSeatRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.UUID;
+
 @Service
 @RequiredArgsConstructor
 public class GamePlayerService {
-    private final GamePlayerRepository gamePlayerRepository;
+    private final GameSeatRepository gameSeatRepository;
 
-    private boolean isSpaceLeft(GamePlayer gamePlayer) {
-        var gameMaxPlayers = gamePlayer.getGame().getMaxPlayers();
-        return gameMaxPlayers > gamePlayerRepository.getGamePlayersCount(gamePlayer.getGame().getId());
-    }
-    public GamePlayer addGamePlayer(GamePlayer gamePlayer) {
-        if(!isSpaceLeft(gamePlayer)){
-            throw new RuntimeException("No space left in given game");
+    /**
+     * Seats the user if the game has room. The database serialises joins for the same game (see
+     * {@link GameSeatRepository}), so this runs on the calling thread and never holds up a game actor.
+     * Joining a game the user is already in returns their existing seat.
+     */
+    public JoinedGame joinGame(Game game, UUID userId) {
+        GameSeatRepository.SeatResult result;
+        try {
+            result = gameSeatRepository.takeSeat(game.getId(), userId);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("User not found");
+        }
+        if (result.seated() != null) {
+            return new JoinedGame(result.seated(), result.roster());
         }
-        return gamePlayerRepository.save(gamePlayer);
+        return result.roster().stream()
+                .filter(player -> player.getUserId().equals(userId))
+                .findFirst()
+                .map(player -> new JoinedGame(player, result.roster()))
+                .orElseThrow(() -> new RuntimeException("No space left in given game"));
+    }
+
+    public record JoinedGame(GamePlayerDTO player, List<GamePlayerDTO> roster) {
     }
 }
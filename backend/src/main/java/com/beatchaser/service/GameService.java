@@ -2,15 +2,19 @@ package com.beatchaser.service;
 
 import com.beatchaser.dto.EndGameResponseDTO;
 import com.beatchaser.dto.game.GameStarted;
-import com.beatchaser.dto.game.gameplayer.GamePlayerDTO;
 import com.beatchaser.dto.session.SessionCreated;
-import com.beatchaser.mapper.GamePlayerMapper;
+import com.beatchaser.engine.GameActorExecutor;
+import com.beatchaser.engine.GameStateEngine;
+import com.beatchaser.engine.LiveGame;
+import com.beatchaser.exception.GameSessionFinishedException;
 import com.beatchaser.model.GamePlayer;
 import com.beatchaser.model.Game;
-import com.beatchaser.model.User;
+import com.beatchaser.model.Round;
 import com.beatchaser.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
@@ -21,49 +25,83 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class GameService {
 
+    public static final String SOLO_MODE = "singleplayer";
+
     private final GameRepository gameRepository;
     private final RoundService roundService;
     private final GamePlayerService gamePlayerService;
-//    private final RoundRepository roundRepository;
 //    private final SongRepository songRepository;
 //    private final WebSocketService webSocketService;
     private final GamePlayerRepository gamePlayerRepository;
-    private final UserRepository userRepository;
     private final WebSocketService webSocketService;
+    private final RoundRepository roundRepository;
+    private final GameStateEngine gameStateEngine;
+    private final GameActorExecutor gameActorExecutor;
+    private final RoundProgressionService roundProgressionService;
+    private final GameStateEventService gameStateEventService;
+    private final GameCreationRepository gameCreationRepository;
+    private final SoloGamePool soloGamePool;
 
+    /**
+     * Creates the game and its rounds in one transaction: either a pre-created game is claimed with a single
+     * UPDATE, or game and rounds are inserted by a single statement. The host is not loaded, the foreign key checks it.
+     */
+    @Transactional
     public SessionCreated createNewSoloGame(UUID playerId, int rounds) {
-        var user = userRepository.findById(playerId).orElseThrow(() -> new RuntimeException("User not found"));
-        Game game = Game.builder()
-                .hostUser(user)
-                .status(Game.GameStatus.PENDING)
-                .mode("singleplayer")
-                .maxPlayers(1)
-                .visibility(Game.GameVisibility.PRIVATE)
-                .build();
-
-        gameRepository.save(game);
-        roundService.createRounds(rounds, game);
+        UUID gameId;
+        try {
+            gameId = soloGamePool.claim(playerId, rounds).orElseGet(() -> {
+                UUID id = UUID.randomUUID();
+                gameCreationRepository.insertGameWithRounds(id, playerId, SOLO_MODE, 1,
+                        Game.GameVisibility.PRIVATE.name(), roundService.planRounds(rounds));
+                return id;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Only the host user or a song deleted since the last catalog refresh can break a foreign key here
+            throw new RuntimeException("User not found or song no longer available");
+        }
         return SessionCreated.builder()
-                .id(game.getId())
+                .id(gameId)
                 .totalRounds(rounds)
                 .createdAt(Instant.now())
                 .build();
     }
+    /**
+     * Players and rounds are loaded and the status change is saved on the calling thread; the game's actor only
+     * registers the live game and opens the first round, so a slow query never stalls the other games on its shard.
+     */
     public GameStarted startGame(Game game){
-       game.setStartedAt(LocalDateTime.now());
-       List<GamePlayer> players = gamePlayerRepository.getGamePlayersByGameId(game.getId());
-       if(players.isEmpty()){
-           throw new RuntimeException("No players found for game: " + game.getId());
+        if(game.getStatus() == Game.GameStatus.FINISHED || game.getStatus() == Game.GameStatus.CANCELLED){
+            throw new GameSessionFinishedException("Game over, start a new game!");
+        }
+        if(gameStateEngine.find(game.getId()).isPresent()){
+            throw new IllegalArgumentException("Game " + game.getId() + " is already running");
+        }
+        List<GamePlayer> players = gamePlayerRepository.getGamePlayersByGameId(game.getId());
+        if(players.isEmpty()){
+            throw new RuntimeException("No players found for game: " + game.getId());
+        }
+        List<Round> rounds = roundRepository.findAllByGameIdWithSong(game.getId());
+        game.setStartedAt(LocalDateTime.now());
+        game.setStatus(Game.GameStatus.RUNNING);
+        gameRepository.save(game);
+        return gameActorExecutor.call(game.getId(), () -> doStartGame(game, players, rounds));
+    }
+
+    private GameStarted doStartGame(Game game, List<GamePlayer> players, List<Round> rounds){
+       if(gameStateEngine.find(game.getId()).isPresent()){
+           throw new IllegalArgumentException("Game " + game.getId() + " is already running");
        }
-       gameRepository.save(game);
-        List<GamePlayerDTO> playerDTOs = players.stream()
-                .map(GamePlayerMapper::map)
-                .toList();
+       LiveGame liveGame = gameStateEngine.register(game.getId(), rounds,
+               players.stream().map(player -> player.getId().getUserId()).toList());
+        // The roster and scores reach clients through the state stream, not with every start event
         var gameStarted = GameStarted.builder()
                 .startTime(game.getStartedAt())
-                .players(playerDTOs)
+                .playerCount(players.size())
                 .build();
         webSocketService.sendGameStartEvent(game.getId(),gameStarted);
+        gameStateEventService.gameStarted(liveGame);
+        roundProgressionService.openCurrentRound(liveGame);
        return gameStarted;
     }
 
@@ -79,41 +117,11 @@ public class GameService {
 //        webSocketService.sendCurrentSongEvent(game.getId(), song);
 //    }
 //
-    public GamePlayer joinGame(Game game, UUID userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-
-        GamePlayer.GamePlayerId gamePlayerId = new GamePlayer.GamePlayerId(game.getId(), user.getId());
-        GamePlayer gamePlayer = GamePlayer
-                .builder()
-                .id(gamePlayerId)
-                .game(game)
-                .user(user)
-                .score(0)
-                .joinedAt(LocalDateTime.now())
-                .isHost(game.getHostUser().getId().equals(userId))
-                .isReady(true)
-                .build();
+    public GamePlayerService.JoinedGame joinGame(Game game, UUID userId) {
+        return gamePlayerService.joinGame(game, userId);
+    }
 
-        return gamePlayerService.addGamePlayer(gamePlayer);
+    public EndGameResponseDTO endGame(UUID gameId) {
+        return gameActorExecutor.call(gameId, () -> roundProgressionService.endGame(gameId));
     }
-//
-//    public EndGameResponseDTO endGame(UUID gameId) {
-//        var game = gameRepository.findById(gameId).orElseThrow(() -> new RuntimeException("Game not found"));
-//        game.setStatus(Game.GameStatus.FINISHED);
-//        game.setEndedAt(LocalDateTime.now());
-//        gameRepository.save(game);
-//
-//        var endGameResponse = EndGameResponseDTO.builder()
-//                .sessionId(game.getId())
-//                .finished(true)
-//                .totalRounds((int) roundRepository.countByGame(game))
-//                .endTime(game.getEndedAt())
-//                .build();
-//
-//        webSocketService.sendGameOverEvent(gameId, endGameResponse);
-//
-//        return endGameResponse;
-//    }
-}
\ No newline at end of file
+}
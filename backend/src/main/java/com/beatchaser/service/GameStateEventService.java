@@ -0,0 +1,133 @@
+package com.beatchaser.service;
+
+import com.beatchaser.dto.state.GameStateDelta;
+import com.beatchaser.dto.state.GameStateSnapshot;
+import com.beatchaser.dto.state.PlayerScore;
+import com.beatchaser.engine.GameActorExecutor;
+import com.beatchaser.engine.GameStateEngine;
+import com.beatchaser.engine.LiveGame;
+import com.beatchaser.engine.LiveRound;
+import com.beatchaser.exception.GameSessionNotFoundException;
+import com.beatchaser.model.Game;
+import com.beatchaser.repository.GamePlayerRepository;
+import com.beatchaser.repository.GameRepository;
+import com.beatchaser.repository.RoundRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Versioned game-state stream: a full snapshot when a client subscribes or resyncs, then small deltas on the game's
+ * event topic, each carrying the next version number. Keeps per-event traffic independent of the room size.
+ * Publishing methods must run on the game's actor shard so versions are assigned in order.
+ */
+@Service
+@RequiredArgsConstructor
+public class GameStateEventService {
+
+    private final GameStateEngine gameStateEngine;
+    private final GameActorExecutor gameActorExecutor;
+    private final WebSocketService webSocketService;
+    private final GameRepository gameRepository;
+    private final GamePlayerRepository gamePlayerRepository;
+    private final RoundRepository roundRepository;
+    private final ClipPrefetchService clipPrefetchService;
+
+    /**
+     * Current state of the game. Games that are not live (not started yet or already finished) are read from the database
+     * and reported at version 0.
+     */
+    public CompletableFuture<GameStateSnapshot> snapshot(UUID gameId) {
+        if (gameStateEngine.find(gameId).isEmpty()) {
+            return CompletableFuture.completedFuture(storedSnapshot(gameId));
+        }
+        // The game may finish before the snapshot task runs; never query the database on the actor thread
+        return gameActorExecutor.submit(gameId, () -> gameStateEngine.find(gameId).map(this::snapshotOf).orElse(null))
+                .thenCompose(live -> live != null
+                        ? CompletableFuture.completedFuture(live)
+                        : CompletableFuture.supplyAsync(() -> storedSnapshot(gameId)));
+    }
+
+    /**
+     * Announces the start as a status delta. Snapshots only go to clients that subscribe or resync, never to the
+     * whole room; a player missing from a client's snapshot shows up with their first score delta.
+     */
+    public void gameStarted(LiveGame game) {
+        statusChanged(game);
+    }
+
+    public void roundStarted(LiveGame game) {
+        LiveRound round = game.getCurrentRound();
+        publish(game, GameStateDelta.builder()
+                .kind(GameStateDelta.ROUND_STARTED)
+                .round(round.getRoundNumber())
+                .deadline(round.getDeadlineEpochMs()));
+    }
+
+    public void roundEnded(LiveGame game, int roundNumber, boolean solved) {
+        publish(game, GameStateDelta.builder()
+                .kind(GameStateDelta.ROUND_ENDED)
+                .round(roundNumber)
+                .solved(solved));
+    }
+
+    public void scoreChanged(LiveGame game, UUID userId, int score) {
+        publish(game, GameStateDelta.builder()
+                .kind(GameStateDelta.SCORE)
+                .userId(userId)
+                .score(score));
+    }
+
+    /**
+     * A player's turn for the round, in place of broadcasting the full guess result to the room.
+     */
+    public void answered(LiveGame game, UUID userId, int roundNumber, boolean skipped, boolean correct) {
+        publish(game, skipped
+                ? GameStateDelta.builder().kind(GameStateDelta.SKIPPED).userId(userId).round(roundNumber)
+                : GameStateDelta.builder().kind(GameStateDelta.ANSWERED).userId(userId).round(roundNumber).correct(correct));
+    }
+
+    public void statusChanged(LiveGame game) {
+        publish(game, GameStateDelta.builder()
+                .kind(GameStateDelta.STATUS)
+                .status(game.getStatus()));
+    }
+
+    private void publish(LiveGame game, GameStateDelta.GameStateDeltaBuilder delta) {
+        webSocketService.sendGameEvent(game.getGameId(), "state-delta", delta.version(game.nextStateVersion()).build());
+    }
+
+    private GameStateSnapshot snapshotOf(LiveGame game) {
+        LiveRound round = game.getCurrentRound();
+        return GameStateSnapshot.builder()
+                .gameId(game.getGameId())
+                .version(game.getStateVersion())
+                .status(game.getStatus())
+                .currentRound(round.getRoundNumber())
+                .totalRounds(game.getTotalRounds())
+                .roundDeadline(round.isClosed() ? 0 : round.getDeadlineEpochMs())
+                .clipUrl(round.isClosed() ? null : clipPrefetchService.clipUrl(game.getGameId(), round.getRoundNumber()))
+                .players(game.getScores().entrySet().stream()
+                        .map(entry -> new PlayerScore(entry.getKey(), entry.getValue()))
+                        .toList())
+                .build();
+    }
+
+    private GameStateSnapshot storedSnapshot(UUID gameId) {
+        Game game = gameRepository.findById(gameId)
+                .orElseThrow(() -> new GameSessionNotFoundException("Game not found"));
+        List<PlayerScore> players = gamePlayerRepository.getGamePlayersByGameId(gameId).stream()
+                .map(player -> new PlayerScore(player.getId().getUserId(), player.getScore()))
+                .toList();
+        return GameStateSnapshot.builder()
+                .gameId(gameId)
+                .version(0)
+                .status(game.getStatus())
+                .totalRounds(roundRepository.countByGameId(gameId))
+                .players(players)
+                .build();
+    }
+}
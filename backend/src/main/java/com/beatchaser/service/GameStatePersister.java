@@ -0,0 +1,189 @@
+package com.beatchaser.service;
+
+import com.beatchaser.model.Game;
+import com.beatchaser.repository.GamePlayerRepository;
+import com.beatchaser.repository.GameRepository;
+import com.beatchaser.repository.RoundRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes results produced by the in-memory game engine through to the database off the game actors.
+ * <p>
+ * Each write only sets the latest value of one row (a player's score, a round's start or end, a game's end), so
+ * pending writes are coalesced by that row: a newer score replaces the queued one and nothing is ever discarded to
+ * make room. The queue therefore holds at most one write per row, and callers never block or touch the database.
+ * One writer thread applies them, retrying failures with exponential backoff.
+ */
+@Service
+@Slf4j
+public class GameStatePersister {
+
+    private final GuessBatchWriter guessBatchWriter;
+    private final RoundRepository roundRepository;
+    private final GameRepository gameRepository;
+    private final GamePlayerRepository gamePlayerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+
+    private final Map<WriteKey, Runnable> pending = new ConcurrentHashMap<>();
+    /** Keys with a pending write, in the order they were first queued; a key is never in here twice. */
+    private final BlockingQueue<WriteKey> order = new LinkedBlockingQueue<>();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public GameStatePersister(GuessBatchWriter guessBatchWriter,
+                              RoundRepository roundRepository,
+                              GameRepository gameRepository,
+                              GamePlayerRepository gamePlayerRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${beatchaser.game-state.max-attempts:5}") int maxAttempts,
+                              @Value("${beatchaser.game-state.retry-backoff-ms:100}") long retryBackoffMs) {
+        this.guessBatchWriter = guessBatchWriter;
+        this.roundRepository = roundRepository;
+        this.gameRepository = gameRepository;
+        this.gamePlayerRepository = gamePlayerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        worker = new Thread(this::run, "game-state-writer");
+        worker.start();
+    }
+
+    public void saveGuess(UUID roundId, UUID userId, String guessText, boolean correct, int points,
+                          Integer timeTakenMs, LocalDateTime guessedAt) {
+        guessBatchWriter.enqueue(GuessBatchWriter.PendingGuess.builder()
+                .roundId(roundId)
+                .userId(userId)
+                .guessText(guessText != null ? guessText : "")
+                .guessedAt(guessedAt)
+                .correct(correct)
+                .pointsAwarded(points)
+                .timeTakenMs(timeTakenMs)
+                .build());
+    }
+
+    public void saveScore(UUID gameId, UUID userId, int score) {
+        submit(new WriteKey(WriteKind.SCORE, gameId, userId), () -> gamePlayerRepository.updateScore(gameId, userId, score));
+    }
+
+    public void saveRoundStart(UUID roundId, LocalDateTime startedAt) {
+        submit(new WriteKey(WriteKind.ROUND_START, roundId, null), () -> roundRepository.markStarted(roundId, startedAt));
+    }
+
+    public void saveRoundEnd(UUID roundId, boolean skipped, LocalDateTime endedAt) {
+        submit(new WriteKey(WriteKind.ROUND_END, roundId, null), () -> roundRepository.markEnded(roundId, endedAt, skipped));
+    }
+
+    public void saveGameEnd(UUID gameId, LocalDateTime endedAt) {
+        submit(new WriteKey(WriteKind.GAME_END, gameId, null), () -> {
+            gameRepository.markEnded(gameId, Game.GameStatus.FINISHED, endedAt);
+            log.debug("Game {} persisted as finished", gameId);
+        });
+    }
+
+    public int getPending() {
+        return pending.size();
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    private void submit(WriteKey key, Runnable write) {
+        if (pending.put(key, write) == null) {
+            order.add(key);
+        } else {
+            coalesced.incrementAndGet();
+        }
+    }
+
+    private void run() {
+        while (running || !order.isEmpty()) {
+            try {
+                WriteKey key = order.poll(100, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    // Removing before writing lets a newer value for the same row queue up again behind this one
+                    Runnable write = pending.remove(key);
+                    if (write != null) {
+                        writeWithRetry(key, write);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Unexpected failure in game state writer", e);
+            }
+        }
+    }
+
+    private void writeWithRetry(WriteKey key, Runnable write) throws InterruptedException {
+        long backoff = retryBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write.run());
+                written.incrementAndGet();
+                return;
+            } catch (Exception e) {
+                if (attempt >= maxAttempts) {
+                    failed.incrementAndGet();
+                    log.error("Giving up on {} write for {} after {} attempts", key.kind(), key.id(), attempt, e);
+                    return;
+                }
+                log.warn("{} write for {} failed (attempt {}/{}), retrying in {} ms: {}",
+                        key.kind(), key.id(), attempt, maxAttempts, backoff, e.getMessage());
+                Thread.sleep(backoff);
+                backoff *= 2;
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(30));
+        log.info("Game state writer stopped, {} writes applied ({} coalesced), {} failed, {} left pending",
+                written.get(), coalesced.get(), failed.get(), pending.size());
+    }
+
+    private enum WriteKind {
+        SCORE, ROUND_START, ROUND_END, GAME_END
+    }
+
+    /** The row a write sets; {@code userId} is only used for scores. */
+    private record WriteKey(WriteKind kind, UUID id, UUID userId) {
+    }
+}
@@ -0,0 +1,244 @@
+package com.beatchaser.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind queue for guesses. Guesses from all games are collected in a bounded queue
+ * and inserted in JDBC batches, either when {@code batchSize} rows are pending or every
+ * {@code flushIntervalMs}. Producers are game actors and never wait: when the queue is full a guess
+ * goes to a spill queue written by a second thread, and only when that is full too is it shed and
+ * counted in {@code shed}.
+ * <p>
+ * A batch that fails on a transient error is retried with exponential backoff. If it still
+ * fails, or the error is not transient (a constraint violation, for example), the batch is
+ * written row by row so only the offending rows are lost; those are counted in {@code dropped}.
+ */
+@Service
+@Slf4j
+public class GuessBatchWriter {
+
+    private static final String INSERT_GUESS = """
+            INSERT INTO guesses (id, round_id, user_id, guess_text, guessed_at, is_correct, points_awarded, time_taken_ms)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<PendingGuess> queue;
+    private final BlockingQueue<PendingGuess> spill;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong shed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread worker;
+    private Thread spillWorker;
+
+    public GuessBatchWriter(JdbcTemplate jdbcTemplate,
+                            @Value("${beatchaser.guess-writer.queue-capacity:50000}") int queueCapacity,
+                            @Value("${beatchaser.guess-writer.batch-size:500}") int batchSize,
+                            @Value("${beatchaser.guess-writer.flush-interval-ms:50}") long flushIntervalMs,
+                            @Value("${beatchaser.guess-writer.spill-capacity:50000}") int spillCapacity,
+                            @Value("${beatchaser.guess-writer.max-attempts:4}") int maxAttempts,
+                            @Value("${beatchaser.guess-writer.retry-backoff-ms:100}") long retryBackoffMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.spill = new ArrayBlockingQueue<>(spillCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        worker = new Thread(() -> run(queue), "guess-batch-writer");
+        worker.start();
+        spillWorker = new Thread(() -> run(spill), "guess-spill-writer");
+        spillWorker.start();
+    }
+
+    public void enqueue(PendingGuess guess) {
+        if (running && queue.offer(guess)) {
+            return;
+        }
+        if (running && spill.offer(guess)) {
+            spilled.incrementAndGet();
+            return;
+        }
+        long count = shed.incrementAndGet();
+        if (count == 1 || count % 1000 == 0) {
+            log.error("Guess write queues are full ({} + {} pending), {} guesses shed so far",
+                    queue.size(), spill.size(), count);
+        }
+    }
+
+    public int getPending() {
+        return queue.size() + spill.size();
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getSpilled() {
+        return spilled.get();
+    }
+
+    public long getShed() {
+        return shed.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    private void run(BlockingQueue<PendingGuess> source) {
+        List<PendingGuess> batch = new ArrayList<>(batchSize);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (running) {
+            try {
+                long waitNanos = deadline - System.nanoTime();
+                PendingGuess next = waitNanos > 0 ? source.poll(waitNanos, TimeUnit.NANOSECONDS) : null;
+                if (next != null) {
+                    batch.add(next);
+                    source.drainTo(batch, batchSize - batch.size());
+                }
+                if (batch.size() >= batchSize || System.nanoTime() - deadline >= 0) {
+                    flush(batch);
+                    deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Unexpected failure writing batch of {} guesses", batch.size(), e);
+                dropped.addAndGet(batch.size());
+                batch.clear();
+            }
+        }
+        flush(batch);
+    }
+
+    private void flush(List<PendingGuess> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (insertWithRetry(batch)) {
+            written.addAndGet(batch.size());
+        } else {
+            insertRowByRow(batch);
+        }
+        batch.clear();
+    }
+
+    private boolean insertWithRetry(List<PendingGuess> batch) {
+        long backoff = retryBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                insert(batch);
+                return true;
+            } catch (NonTransientDataAccessException e) {
+                log.warn("Batch of {} guesses rejected, retrying row by row: {}", batch.size(), e.getMessage());
+                return false;
+            } catch (Exception e) {
+                if (attempt >= maxAttempts) {
+                    log.error("Batch of {} guesses failed after {} attempts, retrying row by row", batch.size(), attempt, e);
+                    return false;
+                }
+                log.warn("Batch of {} guesses failed (attempt {}/{}), retrying in {} ms: {}",
+                        batch.size(), attempt, maxAttempts, backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                backoff *= 2;
+            }
+        }
+    }
+
+    private void insertRowByRow(List<PendingGuess> batch) {
+        for (PendingGuess guess : batch) {
+            try {
+                insert(List.of(guess));
+                written.incrementAndGet();
+            } catch (Exception e) {
+                dropped.incrementAndGet();
+                log.error("Dropping guess {} for round {}: {}", guess.getId(), guess.getRoundId(), e.getMessage());
+            }
+        }
+    }
+
+    private void insert(List<PendingGuess> guesses) {
+        jdbcTemplate.batchUpdate(INSERT_GUESS, guesses, batchSize, (ps, guess) -> {
+            ps.setObject(1, guess.getId());
+            ps.setObject(2, guess.getRoundId());
+            ps.setObject(3, guess.getUserId());
+            ps.setString(4, guess.getGuessText());
+            ps.setTimestamp(5, Timestamp.valueOf(guess.getGuessedAt()));
+            ps.setBoolean(6, guess.isCorrect());
+            ps.setInt(7, guess.getPointsAwarded());
+            if (guess.getTimeTakenMs() != null) {
+                ps.setInt(8, guess.getTimeTakenMs());
+            } else {
+                ps.setNull(8, Types.INTEGER);
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(30));
+        spillWorker.join(TimeUnit.SECONDS.toMillis(30));
+        List<PendingGuess> remaining = new ArrayList<>(queue.size() + spill.size());
+        queue.drainTo(remaining);
+        spill.drainTo(remaining);
+        flush(remaining);
+        log.info("Guess batch writer stopped, {} guesses written ({} through the spill queue), {} shed, {} dropped",
+                written.get(), spilled.get(), shed.get(), dropped.get());
+    }
+
+    @Getter
+    @Builder
+    @AllArgsConstructor
+    public static class PendingGuess {
+        @Builder.Default
+        private final UUID id = UUID.randomUUID();
+        private final UUID roundId;
+        private final UUID userId;
+        private final String guessText;
+        private final LocalDateTime guessedAt;
+        private final boolean correct;
+        private final int pointsAwarded;
+        private final Integer timeTakenMs;
+    }
+}
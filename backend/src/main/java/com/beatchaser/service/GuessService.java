@@ -2,133 +2,142 @@ package com.beatchaser.service;
 
 import com.beatchaser.dto.guess.GuessRequestDTO;
 import com.beatchaser.dto.guess.GuessResponseDTO;
-import com.beatchaser.exception.GameSessionFinishedException;
-import com.beatchaser.exception.GameSessionNotFoundException;
-import com.beatchaser.model.Game;
-import com.beatchaser.model.Guess;
-import com.beatchaser.model.Round;
-import com.beatchaser.model.User;
-import com.beatchaser.repository.GameRepository;
-import com.beatchaser.repository.GuessRepository;
-import com.beatchaser.repository.RoundRepository;
-import com.beatchaser.repository.SongRepository;
-import com.beatchaser.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.beatchaser.dto.guess.SkipRequestDTO;
+import com.beatchaser.engine.ActorBatcher;
+import com.beatchaser.engine.GameActorExecutor;
+import com.beatchaser.engine.GameStateEngine;
+import com.beatchaser.engine.GuessOutcome;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Applies guesses and skips in per-game micro-batches: turns arriving within the batching window are run against
+ * the game state together and duplicates from the same player and round are dropped. The room only sees each turn
+ * as a small state delta; the full result goes back to the caller.
+ */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class GuessService {
-    private final GuessRepository guessRepository;
-    private final GameRepository gameRepository;
-    private final SongRepository songRepository;
-    private static final int ROUND_SKIPPED = -2;
-    private static final int BASE_POINTS = 10;
-    private static final int BONUS_FAST = 5;
-    private static final int BONUS_OK = 3;
-    private final RoundRepository roundRepository;
-    private final GameService gameService;
-    private final RoundService roundService;
-    private final WebSocketService webSocketService;
-    private final UserRepository userRepository;
+    private final GameStateEngine gameStateEngine;
+    private final GameStatePersister gameStatePersister;
+    private final RoundProgressionService roundProgressionService;
+    private final GameStateEventService gameStateEventService;
+    private final ActorBatcher<PendingTurn> turnBatcher;
 
-//    public void submitGuess(GuessRequestDTO dto) {
-//        var game = findAndValidateGame(dto.getGameId());
-//        var currentRound = roundRepository.findByGameAndRoundNumber(game.getId(), dto.getRoundNumber())
-//                .orElseThrow(() -> new RuntimeException("Game round not found"));
-//        boolean correct = checkCorrectness(dto.getGuessedSongId(), currentRound);
-//        var points = correct ? calculatePoints(dto.getReactionTimeMs()) : 0;
-//        var currentSong = currentRound.getSong();
-//        var user = userRepository.findById(dto.getUserId())
-//                .orElseThrow(() -> new RuntimeException("User not found"));
-//
-//        Guess guess = Guess.builder()
-//                .round(currentRound)
-//                .user(user)
-//                .guessText(dto.getGuessText())
-//                .guessedAt(LocalDateTime.now())
-//                .isCorrect(correct)
-//                .pointsAwarded(points)
-//                .timeTakenMs(dto.getReactionTimeMs())
-//                .build();
-//        guessRepository.save(guess);
-//
-//        if (correct) {
-//            updateGameAndRound(game, dto.getRoundNumber(), points, true);
-//        }
-//
-//        var totalRounds = roundRepository.countByGame(game);
-//        var gameOver = totalRounds <= dto.getRoundNumber();
-//        if (gameOver) {
-//            gameService.endGame(game.getId());
-//        } else {
-//            // Send round start event for next round
-//            RoundStartData roundStartData = new RoundStartData(dto.getRoundNumber() + 1, (int) totalRounds);
-//            webSocketService.sendRoundStartEvent(game.getId(), roundStartData);
-//            gameService.getCurrentSong(game, dto.getRoundNumber() + 1);
-//        }
-//
-//        GuessResponseDTO response = GuessResponseDTO.builder()
-//                .correct(correct)
-//                .pointsAwarded(points)
-//                .gameOver(gameOver)
-//                .currentRound(dto.getRoundNumber())
-//                .totalRounds((int) totalRounds)
-//                .message(correct ? "Correct! Great job!" : "Wrong guess. Try again!")
-//                .build();
-//
-//        webSocketService.sendGuessEvent(game.getId(), response);
-//    }
-//
-//    public void skipRound(UUID gameId, Integer roundNumber) {
-//        var game = findAndValidateGame(gameId);
-//        updateGameAndRound(game, roundNumber, ROUND_SKIPPED, false);
-//        var totalRounds = roundRepository.countByGame(game);
-//        var gameOver = totalRounds <= roundNumber;
-//        if (gameOver) {
-//            gameService.endGame(game.getId());
-//        } else {
-//            gameService.getCurrentSong(game, roundNumber + 1);
-//        }
-//    }
-//
-//    private Game findAndValidateGame(UUID gameId) {
-//        Game game = gameRepository.findById(gameId)
-//                .orElseThrow(() -> new GameSessionNotFoundException("No game with given id: " + gameId + " found"));
-//        if(game.getStatus() == Game.GameStatus.FINISHED){
-//            throw new GameSessionFinishedException("Game over, start a new game!");
-//        }
-//        return game;
-//    }
-//
-//    private void updateGameAndRound(Game game, Integer roundNumber, int points, boolean status) {
-//        roundService.setRoundStatus(roundNumber, game.getId(), status);
-//        // Note: Game doesn't track current round, it's managed by the frontend
-//    }
-//
-//    private int calculatePoints(Integer reactionTimeMs) {
-//        int points = BASE_POINTS;
-//        if (reactionTimeMs != null) {
-//            if (reactionTimeMs < 5000) points += BONUS_FAST;
-//            else if (reactionTimeMs < 10000) points += BONUS_OK;
-//        }
-//        return points;
-//    }
-//
-//    private boolean checkCorrectness(UUID guessedSongId, Round currentRound) {
-//        return guessedSongId.equals(currentRound.getSong().getId());
-//    }
-//
-//    public static class RoundStartData {
-//        public final int currentRound;
-//        public final int totalRounds;
-//
-//        public RoundStartData(int currentRound, int totalRounds) {
-//            this.currentRound = currentRound;
-//            this.totalRounds = totalRounds;
-//        }
-//    }
-}
\ No newline at end of file
+    public GuessService(GameStateEngine gameStateEngine,
+                        GameActorExecutor gameActorExecutor,
+                        GameStatePersister gameStatePersister,
+                        RoundProgressionService roundProgressionService,
+                        GameStateEventService gameStateEventService,
+                        @Value("${beatchaser.guess-batching.window-ms:2}") long windowMs,
+                        @Value("${beatchaser.guess-batching.max-pending-per-game:10000}") int maxPendingPerGame) {
+        this.gameStateEngine = gameStateEngine;
+        this.gameStatePersister = gameStatePersister;
+        this.roundProgressionService = roundProgressionService;
+        this.gameStateEventService = gameStateEventService;
+        this.turnBatcher = new ActorBatcher<>("guess-batch-timer", gameActorExecutor, windowMs, maxPendingPerGame,
+                this::applyBatch, (turn, e) -> turn.result().completeExceptionally(e));
+    }
+
+    public CompletableFuture<GuessResponseDTO> submitGuess(GuessRequestDTO dto) {
+        return enqueue(dto.getGameId(), new PendingTurn(dto.getUserId(), dto.getRoundNumber(), dto, new CompletableFuture<>()));
+    }
+
+    public CompletableFuture<GuessResponseDTO> skipRound(SkipRequestDTO dto) {
+        return enqueue(dto.getGameId(), new PendingTurn(dto.getUserId(), dto.getRoundNumber(), null, new CompletableFuture<>()));
+    }
+
+    private CompletableFuture<GuessResponseDTO> enqueue(UUID gameId, PendingTurn turn) {
+        if (!turnBatcher.offer(gameId, turn)) {
+            turn.result().completeExceptionally(new IllegalStateException("Too many pending guesses for game " + gameId));
+        }
+        return turn.result();
+    }
+
+    private void applyBatch(UUID gameId, List<PendingTurn> turns) {
+        Set<TurnKey> seen = new HashSet<>();
+        for (PendingTurn turn : turns) {
+            if (!seen.add(new TurnKey(turn.userId(), turn.roundNumber()))) {
+                // The engine accepts one answer per player and round, so later ones can be dropped without touching state
+                turn.result().completeExceptionally(new IllegalArgumentException(
+                        "User " + turn.userId() + " already answered round " + turn.roundNumber()));
+                continue;
+            }
+            GuessOutcome outcome;
+            GuessResponseDTO response;
+            try {
+                outcome = turn.guess() != null ? applyGuess(turn.guess()) : applySkip(gameId, turn);
+                response = toResponse(outcome, outcome.isSkipped() ? "Round skipped"
+                        : outcome.isCorrect() ? "Correct! Great job!" : "Wrong guess. Your answer for this round is locked in.");
+            } catch (RuntimeException e) {
+                turn.result().completeExceptionally(e);
+                continue;
+            }
+            turn.result().complete(response);
+            roundProgressionService.afterTurn(outcome);
+        }
+    }
+
+    private GuessOutcome applyGuess(GuessRequestDTO dto) {
+        var outcome = gameStateEngine.submitGuess(dto.getGameId(), dto.getUserId(), dto.getRoundNumber(),
+                dto.getGuessedSongId(), dto.getGuessText(), dto.getReactionTimeMs());
+        var now = LocalDateTime.now();
+
+        gameStatePersister.saveGuess(outcome.getRoundId(), dto.getUserId(), dto.getGuessText(), outcome.isCorrect(),
+                outcome.getPointsAwarded(), dto.getReactionTimeMs(), now);
+        if (outcome.isCorrect()) {
+            gameStatePersister.saveScore(outcome.getGameId(), outcome.getUserId(), outcome.getPlayerScore());
+        }
+        // Deltas are published on the actor, so they reach clients before the round-end and next round-start events
+        gameStateEngine.find(outcome.getGameId()).ifPresent(game -> {
+            gameStateEventService.answered(game, outcome.getUserId(), outcome.getRoundNumber(), false, outcome.isCorrect());
+            if (outcome.isCorrect()) {
+                gameStateEventService.scoreChanged(game, outcome.getUserId(), outcome.getPlayerScore());
+            }
+        });
+        return outcome;
+    }
+
+    private GuessOutcome applySkip(UUID gameId, PendingTurn turn) {
+        var outcome = gameStateEngine.skip(gameId, turn.userId(), turn.roundNumber());
+        gameStateEngine.find(gameId).ifPresent(game ->
+                gameStateEventService.answered(game, outcome.getUserId(), outcome.getRoundNumber(), true, false));
+        return outcome;
+    }
+
+    private GuessResponseDTO toResponse(GuessOutcome outcome, String message) {
+        return GuessResponseDTO.builder()
+                .userId(outcome.getUserId())
+                .correct(outcome.isCorrect())
+                .skipped(outcome.isSkipped())
+                .pointsAwarded(outcome.getPointsAwarded())
+                .score(outcome.getPlayerScore())
+                .gameOver(outcome.isGameOver())
+                .currentRound(outcome.getRoundNumber())
+                .totalRounds(outcome.getTotalRounds())
+                .message(message)
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        turnBatcher.close();
+    }
+
+    /** A guess, or a skip when {@code guess} is null. */
+    private record PendingTurn(UUID userId, Integer roundNumber, GuessRequestDTO guess,
+                               CompletableFuture<GuessResponseDTO> result) {
+    }
+
+    private record TurnKey(UUID userId, Integer roundNumber) {
+    }
+}
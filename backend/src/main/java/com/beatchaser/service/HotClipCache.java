@@ -0,0 +1,65 @@
+package com.beatchaser.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least-recently-used cache of clip bytes, bounded by total size. Clips are loaded ahead of their round, so when
+ * every player of a game requests the same clip at once the bytes come from memory instead of the disk.
+ */
+@Service
+@Slf4j
+public class HotClipCache {
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, byte[]> clips = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    public HotClipCache(@Value("${beatchaser.audio.hot-cache-bytes:67108864}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public synchronized byte[] get(String etag) {
+        return clips.get(etag);
+    }
+
+    /**
+     * Loads the clip into the cache unless it is already there or too large to be worth holding.
+     */
+    public byte[] load(RoundClipService.Clip clip) throws IOException {
+        byte[] cached = get(clip.etag());
+        if (cached != null || clip.length() > maxBytes / 8) {
+            return cached;
+        }
+        byte[] bytes = new byte[(int) clip.length()];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try (FileChannel channel = FileChannel.open(clip.audio().path(), StandardOpenOption.READ)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, clip.offset() + buffer.position()) < 0) {
+                    throw new IOException("File shorter than its index: " + clip.audio().path());
+                }
+            }
+        }
+        put(clip.etag(), bytes);
+        return bytes;
+    }
+
+    private synchronized void put(String etag, byte[] bytes) {
+        byte[] previous = clips.put(etag, bytes);
+        totalBytes += bytes.length - (previous != null ? previous.length : 0);
+        Iterator<Map.Entry<String, byte[]>> eldest = clips.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().length;
+            eldest.remove();
+        }
+    }
+}
@@ -0,0 +1,407 @@
+package com.beatchaser.service;
+
+import com.beatchaser.cluster.ClusterBus;
+import com.beatchaser.cluster.ClusterMessage;
+import com.beatchaser.cluster.ClusterTopology;
+import com.beatchaser.dto.LeaderboardEntryDTO;
+import com.beatchaser.repository.LeaderboardRepository;
+import com.beatchaser.repository.UserRepository;
+import com.beatchaser.util.RankedSkipList;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Global ranking by total score over all finished games, kept in memory in a {@link RankedSkipList} so top-N,
+ * a player's rank and the players around them are O(log n). Finished games are applied as they end; the ranking
+ * is snapshotted to {@code beatchaser.leaderboard.snapshot-file} periodically, and a restart loads the snapshot
+ * and replays the games finished after it. Game ends are written behind, so a game can reach the database after
+ * a later one: the replay starts {@code beatchaser.leaderboard.replay-overlap-ms} early and skips games already
+ * applied, which are remembered by id for that long.
+ * The ranking is loaded before the web server accepts requests, so no game can finish on this node in between.
+ * <p>
+ * In a cluster every node keeps its own ranking: the owner of a game applies it and publishes it over the
+ * {@link ClusterBus} for the others. A node's snapshot would miss games whose message it never got, so clustered
+ * nodes skip snapshots and rebuild from the database when they start.
+ */
+@Service
+@Slf4j
+public class LeaderboardService implements SmartInitializingSingleton {
+
+    private static final int SNAPSHOT_MAGIC = 0x4C425332; // "LBS2"
+
+    private final LeaderboardRepository leaderboardRepository;
+    private final UserRepository userRepository;
+    private final ClusterTopology clusterTopology;
+    private final ClusterBus clusterBus;
+    private final ObjectMapper objectMapper;
+    private final Path snapshotFile;
+    private final Duration replayOverlap;
+    private final int nameCacheSize;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Long> totals = new HashMap<>();
+    /** End times of the applied games that a replay of the overlap window would see again, by game id. */
+    private final Map<UUID, LocalDateTime> recentGames = new HashMap<>();
+    /** Usernames never change, so they are cached until the cache outgrows its bound. */
+    private final Map<UUID, String> usernames = new ConcurrentHashMap<>();
+    private RankedSkipList ranking = new RankedSkipList();
+    /** End time of the latest game included in the ranking; the replay starting point after a restart. */
+    private LocalDateTime appliedUntil;
+    private long changes;
+    private long snapshotChanges;
+
+    public LeaderboardService(LeaderboardRepository leaderboardRepository,
+                              UserRepository userRepository,
+                              ClusterTopology clusterTopology,
+                              ClusterBus clusterBus,
+                              ObjectMapper objectMapper,
+                              @Value("${beatchaser.leaderboard.snapshot-file:${java.io.tmpdir}/beatchaser-leaderboard-${beatchaser.cluster.node-id:local}.snapshot}") String snapshotFile,
+                              @Value("${beatchaser.leaderboard.replay-overlap-ms:300000}") long replayOverlapMs,
+                              @Value("${beatchaser.leaderboard.name-cache-size:100000}") int nameCacheSize) {
+        this.leaderboardRepository = leaderboardRepository;
+        this.userRepository = userRepository;
+        this.clusterTopology = clusterTopology;
+        this.clusterBus = clusterBus;
+        this.objectMapper = objectMapper;
+        this.snapshotFile = Path.of(snapshotFile);
+        this.replayOverlap = Duration.ofMillis(replayOverlapMs);
+        this.nameCacheSize = nameCacheSize;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long started = System.nanoTime();
+        // Games other nodes finish during the load wait for the lock instead of being missed
+        clusterBus.subscribe(this::onMessage);
+        lock.writeLock().lock();
+        try {
+            boolean fromSnapshot = !clusterTopology.isClustered() && loadSnapshot() && appliedUntil != null;
+            if (!fromSnapshot) {
+                loadAll();
+            } else {
+                replay(appliedUntil.minus(replayOverlap));
+            }
+            log.info("Leaderboard loaded with {} players in {} ms ({})", ranking.size(),
+                    (System.nanoTime() - started) / 1_000_000, fromSnapshot ? "snapshot + replay" : "full scan");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a finished game's scores to the players' totals and tells the other nodes. Call on the game's owner node
+     * when it ends; a game that was already applied is ignored.
+     */
+    public void gameFinished(UUID gameId, Map<UUID, Integer> scores, LocalDateTime endedAt) {
+        apply(gameId, scores, endedAt);
+        if (clusterTopology.isClustered()) {
+            clusterBus.publish(ClusterMessage.builder()
+                    .type(ClusterMessage.Type.GAME_FINISHED)
+                    .sourceNode(clusterTopology.getNodeId())
+                    .gameId(gameId)
+                    .payload(write(new FinishedGame(gameId, scores, endedAt)))
+                    .build());
+        }
+    }
+
+    private void onMessage(ClusterMessage message) {
+        if (message.getType() != ClusterMessage.Type.GAME_FINISHED
+                || clusterTopology.getNodeId().equals(message.getSourceNode())) {
+            return;
+        }
+        FinishedGame game;
+        try {
+            game = objectMapper.readValue(message.getPayload(), FinishedGame.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed {} message from {}: {}", message.getType(), message.getSourceNode(), e.getMessage());
+            return;
+        }
+        apply(game.gameId(), game.scores(), game.endedAt());
+    }
+
+    private void apply(UUID gameId, Map<UUID, Integer> scores, LocalDateTime endedAt) {
+        lock.writeLock().lock();
+        try {
+            if (recentGames.putIfAbsent(gameId, endedAt) != null) {
+                return;
+            }
+            scores.forEach((userId, score) -> add(userId, score));
+            advance(endedAt);
+            forgetOldGames();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<LeaderboardEntryDTO> top(int limit) {
+        return withNames(read(() -> ranking.range(0, limit)));
+    }
+
+    public Optional<LeaderboardEntryDTO> rankOf(UUID userId) {
+        return around(userId, 0).stream().findFirst();
+    }
+
+    /**
+     * The player and up to {@code radius} players ranked directly above and below them; empty if they are unranked.
+     */
+    public List<LeaderboardEntryDTO> around(UUID userId, int radius) {
+        return withNames(read(() -> {
+            Long total = totals.get(userId);
+            if (total == null) {
+                return List.of();
+            }
+            int index = ranking.indexOf(total, userId);
+            int from = Math.max(0, index - radius);
+            return ranking.range(from, index - from + radius + 1);
+        }));
+    }
+
+    @Scheduled(fixedDelayString = "${beatchaser.leaderboard.snapshot-interval-ms:300000}",
+            initialDelayString = "${beatchaser.leaderboard.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        if (clusterTopology.isClustered()) {
+            return;
+        }
+        // Copy under the read lock, write to disk without it so finishing games never wait on the disk
+        long[] scores;
+        long[] high;
+        long[] low;
+        LocalDateTime until;
+        Map<UUID, LocalDateTime> games;
+        long copiedChanges;
+        lock.readLock().lock();
+        try {
+            if (changes == snapshotChanges) {
+                return;
+            }
+            int size = ranking.size();
+            scores = new long[size];
+            high = new long[size];
+            low = new long[size];
+            int[] next = {0};
+            ranking.forEach((score, userIdHigh, userIdLow) -> {
+                scores[next[0]] = score;
+                high[next[0]] = userIdHigh;
+                low[next[0]++] = userIdLow;
+            });
+            until = appliedUntil;
+            games = new HashMap<>(recentGames);
+            copiedChanges = changes;
+        } finally {
+            lock.readLock().unlock();
+        }
+        try {
+            Path parent = snapshotFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, snapshotFile.getFileName().toString(), ".tmp");
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeBoolean(until != null);
+                writeTime(out, until != null ? until : LocalDateTime.MIN);
+                out.writeInt(games.size());
+                for (Map.Entry<UUID, LocalDateTime> game : games.entrySet()) {
+                    out.writeLong(game.getKey().getMostSignificantBits());
+                    out.writeLong(game.getKey().getLeastSignificantBits());
+                    writeTime(out, game.getValue());
+                }
+                out.writeInt(scores.length);
+                for (int i = 0; i < scores.length; i++) {
+                    out.writeLong(high[i]);
+                    out.writeLong(low[i]);
+                    out.writeLong(scores[i]);
+                }
+            }
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            lock.writeLock().lock();
+            try {
+                snapshotChanges = copiedChanges;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.debug("Leaderboard snapshot of {} players written to {}", scores.length, snapshotFile);
+        } catch (IOException e) {
+            log.warn("Could not write leaderboard snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    private boolean loadSnapshot() {
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("unknown format");
+            }
+            boolean hasUntil = in.readBoolean();
+            LocalDateTime until = readTime(in);
+            int gameCount = in.readInt();
+            for (int i = 0; i < gameCount; i++) {
+                recentGames.put(new UUID(in.readLong(), in.readLong()), readTime(in));
+            }
+            int size = in.readInt();
+            long[] scores = new long[size];
+            UUID[] userIds = new UUID[size];
+            for (int i = 0; i < size; i++) {
+                userIds[i] = new UUID(in.readLong(), in.readLong());
+                scores[i] = in.readLong();
+                totals.put(userIds[i], scores[i]);
+            }
+            ranking = RankedSkipList.fromSorted(scores, userIds);
+            appliedUntil = hasUntil ? until : null;
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable leaderboard snapshot {}: {}", snapshotFile, e.getMessage());
+            totals.clear();
+            recentGames.clear();
+            return false;
+        }
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano());
+    }
+
+    private static LocalDateTime readTime(DataInputStream in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+
+    /**
+     * Sums everything older than the overlap window per player, which is cheap, then replays the window game by game
+     * so the games in it are known by id.
+     */
+    private void loadAll() {
+        totals.clear();
+        recentGames.clear();
+        appliedUntil = null;
+        LocalDateTime cutoff = LocalDateTime.now().minus(replayOverlap);
+        List<UUID> userIds = new ArrayList<>();
+        leaderboardRepository.forEachTotal(cutoff, (userId, total, lastEndedAt) -> {
+            totals.put(userId, total);
+            userIds.add(userId);
+            advance(lastEndedAt);
+        });
+        UUID[] sorted = userIds.toArray(UUID[]::new);
+        Arrays.sort(sorted, Comparator.<UUID>comparingLong(totals::get).reversed().thenComparing(Function.identity()));
+        long[] scores = new long[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            scores[i] = totals.get(sorted[i]);
+        }
+        ranking = RankedSkipList.fromSorted(scores, sorted);
+        changes = totals.isEmpty() ? 0 : 1;
+        replay(cutoff);
+    }
+
+    /**
+     * Applies the games finished after {@code from} that are not applied yet.
+     */
+    private void replay(LocalDateTime from) {
+        Set<UUID> replayed = new HashSet<>();
+        leaderboardRepository.forEachGameScore(from, (gameId, endedAt, userId, score) -> {
+            if (replayed.contains(gameId) || recentGames.putIfAbsent(gameId, endedAt) == null) {
+                replayed.add(gameId);
+                add(userId, score);
+                advance(endedAt);
+            }
+        });
+        forgetOldGames();
+    }
+
+    private void forgetOldGames() {
+        if (appliedUntil != null) {
+            LocalDateTime horizon = appliedUntil.minus(replayOverlap);
+            recentGames.values().removeIf(endedAt -> endedAt.isBefore(horizon));
+        }
+    }
+
+    private void add(UUID userId, long score) {
+        Long previous = totals.get(userId);
+        if (previous != null) {
+            ranking.remove(previous, userId);
+        }
+        long total = (previous != null ? previous : 0) + score;
+        totals.put(userId, total);
+        ranking.insert(total, userId);
+        changes++;
+    }
+
+    private void advance(LocalDateTime endedAt) {
+        if (endedAt != null && (appliedUntil == null || endedAt.isAfter(appliedUntil))) {
+            appliedUntil = endedAt;
+        }
+    }
+
+    private String write(FinishedGame game) {
+        try {
+            return objectMapper.writeValueAsString(game);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize finished game", e);
+        }
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<LeaderboardEntryDTO> withNames(List<RankedSkipList.Entry> entries) {
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> missing = entries.stream()
+                .map(RankedSkipList.Entry::userId)
+                .filter(userId -> !usernames.containsKey(userId))
+                .toList();
+        if (!missing.isEmpty()) {
+            if (usernames.size() + missing.size() > nameCacheSize) {
+                usernames.clear();
+            }
+            userRepository.findAllById(missing).forEach(user -> usernames.put(user.getId(), user.getUsername()));
+        }
+        return entries.stream()
+                .map(entry -> LeaderboardEntryDTO.builder()
+                        .rank(entry.index() + 1L)
+                        .userId(entry.userId())
+                        .username(usernames.get(entry.userId()))
+                        .score(entry.score())
+                        .build())
+                .toList();
+    }
+
+    record FinishedGame(UUID gameId, Map<UUID, Integer> scores, LocalDateTime endedAt) {
+    }
+}
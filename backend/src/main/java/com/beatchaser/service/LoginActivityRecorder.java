@@ -0,0 +1,59 @@
+package com.beatchaser.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects last-login times in memory and writes them in one batch per interval. Repeated logins of the same user
+ * within an interval collapse into a single update.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LoginActivityRecorder {
+
+    private static final String UPDATE_SQL = "UPDATE users SET last_login_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<UUID, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    public void record(UUID userId) {
+        pending.put(userId, LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${beatchaser.auth.last-login-flush-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(pending.size());
+        for (var entry : pending.entrySet()) {
+            // Only drop the entry if no newer login replaced it meanwhile
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(new Object[]{Timestamp.valueOf(entry.getValue()), entry.getKey()});
+            }
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+        } catch (RuntimeException e) {
+            log.error("Failed to store last login time for {} users", batch.size(), e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+}
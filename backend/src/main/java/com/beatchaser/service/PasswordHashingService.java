@@ -0,0 +1,59 @@
+package com.beatchaser.service;
+
+import com.beatchaser.config.AsyncConfig;
+import com.beatchaser.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on a bounded pool instead of request threads. When the pool and its queue are full the call fails
+ * immediately with {@link TooManyRequestsException}, so a login burst is shed instead of starving other endpoints.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final int RETRY_AFTER_SECONDS = 1;
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor executor;
+    /** Compared against when the user does not exist, so unknown usernames cost the same as wrong passwords. */
+    private final String dummyHash;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Qualifier(AsyncConfig.PASSWORD_HASHER) ThreadPoolTaskExecutor executor) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.dummyHash = passwordEncoder.encode("beatchaser-dummy-password");
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword), "Too many registrations in progress, try again shortly");
+    }
+
+    /**
+     * @param encodedPassword stored hash, or null for an unknown user
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(() -> {
+            if (encodedPassword == null) {
+                passwordEncoder.matches(rawPassword, dummyHash);
+                return false;
+            }
+            return passwordEncoder.matches(rawPassword, encodedPassword);
+        }, "Too many login attempts in progress, try again shortly");
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task, String busyMessage) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException(busyMessage, RETRY_AFTER_SECONDS);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.beatchaser.service;
+
+import com.beatchaser.engine.GameStateEngine;
+import com.beatchaser.engine.LiveRound;
+import com.beatchaser.repository.RoundRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Locates the audio fragment of a round: the frame-aligned byte range of the song file that starts at the round's
+ * stored fragment offset and lasts one round.
+ */
+@Service
+@Slf4j
+public class RoundClipService {
+
+    private final GameStateEngine gameStateEngine;
+    private final RoundRepository roundRepository;
+    private final SongAudioService songAudioService;
+    private final AudioIndexService audioIndexService;
+    private final long clipDurationMs;
+
+    public RoundClipService(GameStateEngine gameStateEngine,
+                            RoundRepository roundRepository,
+                            SongAudioService songAudioService,
+                            AudioIndexService audioIndexService,
+                            @Value("${beatchaser.rounds.duration-ms:30000}") long clipDurationMs) {
+        this.gameStateEngine = gameStateEngine;
+        this.roundRepository = roundRepository;
+        this.songAudioService = songAudioService;
+        this.audioIndexService = audioIndexService;
+        this.clipDurationMs = clipDurationMs;
+    }
+
+    public Optional<Clip> find(UUID gameId, int roundNumber) {
+        var source = clipSource(gameId, roundNumber).orElse(null);
+        if (source == null) {
+            return Optional.empty();
+        }
+        var audio = songAudioService.find(source.songId()).orElse(null);
+        if (audio == null) {
+            return Optional.empty();
+        }
+        long[] range;
+        try {
+            range = audioIndexService.indexOf(source.songId(), audio).slice(source.fragmentStartMs(), clipDurationMs);
+        } catch (IOException e) {
+            log.warn("Cannot index audio of song {}: {}", source.songId(), e.getMessage());
+            return Optional.empty();
+        }
+        String etag = audio.etag().substring(0, audio.etag().length() - 1) + "-" + range[0] + "-" + range[1] + "\"";
+        return Optional.of(new Clip(audio, range[0], range[1] - range[0], etag));
+    }
+
+    private Optional<ClipSource> clipSource(UUID gameId, int roundNumber) {
+        // Running games answer from memory; rounds are immutable once the game is registered
+        var liveGame = gameStateEngine.find(gameId);
+        if (liveGame.isPresent()) {
+            return liveGame.get().getRounds().stream()
+                    .filter(round -> round.getRoundNumber() == roundNumber)
+                    .findFirst()
+                    .map(RoundClipService::toClipSource);
+        }
+        return roundRepository.findClipSource(gameId, roundNumber)
+                .map(round -> new ClipSource(round.getSongId(),
+                        round.getFragmentStartMs() != null ? round.getFragmentStartMs() : 0));
+    }
+
+    private static ClipSource toClipSource(LiveRound round) {
+        return new ClipSource(round.getSongId(), round.getFragmentStartMs());
+    }
+
+    public record Clip(SongAudioService.AudioFile audio, long offset, long length, String etag) {
+    }
+
+    private record ClipSource(UUID songId, int fragmentStartMs) {
+    }
+}
@@ -0,0 +1,146 @@
+package com.beatchaser.service;
+
+import com.beatchaser.dto.EndGameResponseDTO;
+import com.beatchaser.dto.round.RoundEnded;
+import com.beatchaser.dto.round.RoundStarted;
+import com.beatchaser.engine.GameActorExecutor;
+import com.beatchaser.engine.GameStateEngine;
+import com.beatchaser.engine.GuessOutcome;
+import com.beatchaser.engine.LiveGame;
+import com.beatchaser.engine.LiveRound;
+import com.beatchaser.model.Game;
+import com.beatchaser.util.HashedTimingWheel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives rounds on the server: opens each round with a deadline on the timing wheel, closes it when every
+ * player has answered or the deadline passes, and ends the game after the last round.
+ * All methods are expected to run on the game's actor shard.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RoundProgressionService {
+
+    /** How long to wait before trying again to expire a round whose actor mailbox was full. */
+    private static final long EXPIRY_RETRY_MS = 50;
+
+    private final GameStateEngine gameStateEngine;
+    private final GameActorExecutor gameActorExecutor;
+    private final GameStatePersister gameStatePersister;
+    private final WebSocketService webSocketService;
+    private final GameStateEventService gameStateEventService;
+    private final HashedTimingWheel roundTimingWheel;
+    private final ClipPrefetchService clipPrefetchService;
+    private final LeaderboardService leaderboardService;
+
+    public void openCurrentRound(LiveGame game) {
+        LiveRound round = game.getCurrentRound();
+        UUID gameId = game.getGameId();
+        int roundNumber = round.getRoundNumber();
+        // Late answers within the grace period are still accepted, so only expire the round after it
+        long delayMs = Math.max(0, round.getDeadlineEpochMs() + gameStateEngine.getAnswerGraceMs() - System.currentTimeMillis());
+        round.setTimeout(scheduleExpiry(gameId, roundNumber, delayMs));
+
+        gameStatePersister.saveRoundStart(round.getRoundId(), round.getStartedAt());
+        webSocketService.sendRoundStartEvent(gameId, RoundStarted.builder()
+                .currentRound(roundNumber)
+                .totalRounds(game.getTotalRounds())
+                .startedAt(round.getStartedAt().atZone(ZoneId.systemDefault()).toInstant())
+                .deadline(Instant.ofEpochMilli(round.getDeadlineEpochMs()))
+                .clipUrl(clipPrefetchService.clipUrl(gameId, roundNumber))
+                .build());
+        gameStateEventService.roundStarted(game);
+        clipPrefetchService.roundOpened(game);
+    }
+
+    /**
+     * Reacts to a guess or skip: if it closed the round, publishes the round end and moves the game on.
+     */
+    public void afterTurn(GuessOutcome outcome) {
+        if (outcome.isRoundClosed()) {
+            closeRound(outcome);
+        }
+    }
+
+    /**
+     * Arms the round's deadline. If the game's mailbox is full when it fires, the expiry is re-armed instead of
+     * dropped, otherwise the round would never close. A stale expiry is harmless: the engine ignores it once the
+     * round is closed or the game is gone.
+     */
+    private HashedTimingWheel.Timeout scheduleExpiry(UUID gameId, int roundNumber, long delayMs) {
+        return roundTimingWheel.schedule(() -> {
+            try {
+                gameActorExecutor.submit(gameId, () -> expireRound(gameId, roundNumber));
+            } catch (RejectedExecutionException e) {
+                log.warn("Game {} is overloaded, retrying expiry of round {} in {} ms", gameId, roundNumber, EXPIRY_RETRY_MS);
+                scheduleExpiry(gameId, roundNumber, EXPIRY_RETRY_MS);
+            }
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private boolean expireRound(UUID gameId, int roundNumber) {
+        gameStateEngine.expireRound(gameId, roundNumber).ifPresent(outcome -> {
+            log.debug("Round {} of game {} timed out", roundNumber, gameId);
+            closeRound(outcome);
+        });
+        return true;
+    }
+
+    private void closeRound(GuessOutcome outcome) {
+        var now = LocalDateTime.now();
+        UUID gameId = outcome.getGameId();
+        gameStatePersister.saveRoundEnd(outcome.getRoundId(), !outcome.isRoundSolved(), now);
+        webSocketService.sendRoundEndEvent(gameId, RoundEnded.builder()
+                .roundNumber(outcome.getRoundNumber())
+                .totalRounds(outcome.getTotalRounds())
+                .solved(outcome.isRoundSolved())
+                .timedOut(outcome.isTimedOut())
+                .endedAt(Instant.now())
+                .build());
+        gameStateEngine.find(gameId).ifPresent(game ->
+                gameStateEventService.roundEnded(game, outcome.getRoundNumber(), outcome.isRoundSolved()));
+        if (outcome.isGameOver()) {
+            endGame(gameId);
+        } else {
+            gameStateEngine.find(gameId).ifPresent(this::openCurrentRound);
+        }
+    }
+
+    public EndGameResponseDTO endGame(UUID gameId) {
+        LiveGame liveGame = gameStateEngine.find(gameId)
+                .orElseThrow(() -> new RuntimeException("Game not found"));
+        liveGame.setStatus(Game.GameStatus.FINISHED);
+        LiveRound current = liveGame.getCurrentRound();
+        if (current.getTimeout() != null) {
+            current.getTimeout().cancel();
+        }
+        var endedAt = LocalDateTime.now();
+        gameStatePersister.saveGameEnd(gameId, endedAt);
+        leaderboardService.gameFinished(gameId, liveGame.getScores(), endedAt);
+
+        var endGameResponse = EndGameResponseDTO.builder()
+                .sessionId(gameId)
+                .finished(true)
+                .totalScore(liveGame.getScores().values().stream().mapToInt(Integer::intValue).max().orElse(0))
+                .totalRounds(liveGame.getTotalRounds())
+                .endTime(endedAt)
+                .build();
+
+        webSocketService.sendGameOverEvent(gameId, endGameResponse);
+        gameStateEventService.statusChanged(liveGame);
+        gameStateEngine.evict(gameId);
+        clipPrefetchService.gameEnded(gameId);
+
+        return endGameResponse;
+    }
+}
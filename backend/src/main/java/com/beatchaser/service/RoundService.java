@@ -1,20 +1,24 @@
 package com.beatchaser.service;
-import com.beatchaser.model.Round;
-import com.beatchaser.model.Game;
-import com.beatchaser.repository.RoundRepository;
-import com.beatchaser.repository.SongRepository;
-import lombok.RequiredArgsConstructor;
+import com.beatchaser.engine.AnswerKey;
+import com.beatchaser.repository.GameCreationRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
-@RequiredArgsConstructor
 public class RoundService {
-    private final RoundRepository roundRepository;
-    private final SongRepository songRepository;
+    private final SongSampler songSampler;
+    private final long clipDurationMs;
+
+    public RoundService(SongSampler songSampler,
+                        @Value("${beatchaser.rounds.duration-ms:30000}") long clipDurationMs) {
+        this.songSampler = songSampler;
+        this.clipDurationMs = clipDurationMs;
+    }
 //
 //    public void setRoundStatus(int roundId, UUID gameId, boolean status) {
 //        var currentRound = roundRepository.findByGameAndRoundNumber(gameId, roundId)
@@ -23,25 +27,29 @@ public class RoundService {
 //        roundRepository.save(currentRound);
 //    }
 
-    public void createRounds(int numberOfRounds, Game game) {
-        var songs = songRepository.getRandomSongs(numberOfRounds).orElseThrow(() -> new RuntimeException("Coulndt get songs"));
-
-        if (songs.size() < numberOfRounds) {
-            throw new RuntimeException("Not enough songs in database. Found " + songs.size() + " songs, but need " + numberOfRounds);
-        }
+    /**
+     * Picks the songs for a new game from the in-memory catalog and prepares its rounds for insertion,
+     * each with a random clip start that leaves a full round of audio before the end of the song.
+     */
+    public List<GameCreationRepository.RoundRow> planRounds(int numberOfRounds) {
+        var songs = songSampler.sampleFromCatalog(numberOfRounds);
 
-        List<Round> gameRounds = new ArrayList<>();
+        List<GameCreationRepository.RoundRow> gameRounds = new ArrayList<>(songs.size());
         int i = 1;
         for (var song : songs) {
-            gameRounds.add(
-                    Round.builder()
-                            .game(game)
-                            .song(song)
-                            .roundNumber(i++)
-                            .isSkipped(false)
-                            .build()
-            );
+            gameRounds.add(new GameCreationRepository.RoundRow(
+                    UUID.randomUUID(),
+                    i++,
+                    song.getId(),
+                    fragmentStartMs(song.getDurationSeconds()),
+                    AnswerKey.of(song.getTitle(), song.getArtist()).toStoredForm()
+            ));
         }
-        roundRepository.saveAll(gameRounds);
+        return gameRounds;
+    }
+
+    private int fragmentStartMs(Integer durationSeconds) {
+        long latestStart = durationSeconds == null ? 0 : durationSeconds * 1000L - clipDurationMs;
+        return latestStart > 0 ? (int) ThreadLocalRandom.current().nextLong(latestStart + 1) : 0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,92 @@
+package com.beatchaser.service;
+
+import com.beatchaser.model.Game;
+import com.beatchaser.repository.GameCreationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Keeps a few solo games with their rounds already inserted and no host, so creating a solo game with the
+ * default round count is a single UPDATE. Disabled unless {@code beatchaser.solo-pool.size} is positive.
+ */
+@Service
+@Slf4j
+public class SoloGamePool {
+
+    private final GameCreationRepository gameCreationRepository;
+    private final RoundService roundService;
+    private final int size;
+    private final int rounds;
+    private final Queue<UUID> ready = new ConcurrentLinkedQueue<>();
+
+    public SoloGamePool(GameCreationRepository gameCreationRepository,
+                        RoundService roundService,
+                        @Value("${beatchaser.solo-pool.size:0}") int size,
+                        @Value("${beatchaser.solo-pool.rounds:3}") int rounds) {
+        this.gameCreationRepository = gameCreationRepository;
+        this.roundService = roundService;
+        this.size = size;
+        this.rounds = rounds;
+    }
+
+    /**
+     * Assigns a pooled game to the host, or returns empty if the pool is off, drained, or holds a different round count.
+     * If the claim fails with an error, the game is still unclaimed and goes back to the pool before the error is rethrown.
+     */
+    public Optional<UUID> claim(UUID hostUserId, int numberOfRounds) {
+        if (size <= 0 || numberOfRounds != rounds) {
+            return Optional.empty();
+        }
+        UUID gameId;
+        while ((gameId = ready.poll()) != null) {
+            // Another node may have loaded the same leftover games at startup, the conditional update decides
+            boolean claimed;
+            try {
+                claimed = gameCreationRepository.claimPooledGame(gameId, hostUserId);
+            } catch (RuntimeException e) {
+                ready.add(gameId);
+                throw e;
+            }
+            if (claimed) {
+                return Optional.of(gameId);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void loadLeftovers() {
+        if (size > 0) {
+            ready.addAll(gameCreationRepository.findPooledGames(GameService.SOLO_MODE, rounds));
+            log.info("Solo game pool started with {} pre-created games", ready.size());
+            refill();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${beatchaser.solo-pool.refill-ms:1000}")
+    void refill() {
+        if (size <= 0) {
+            return;
+        }
+        try {
+            while (ready.size() < size) {
+                UUID gameId = UUID.randomUUID();
+                gameCreationRepository.insertGameWithRounds(gameId, null, GameService.SOLO_MODE, 1,
+                        Game.GameVisibility.PRIVATE.name(), roundService.planRounds(rounds));
+                ready.add(gameId);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not refill solo game pool: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.beatchaser.service;
+
+import com.beatchaser.dto.SongDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves a song to its audio file on disk. Paths come from the catalog snapshot; with
+ * {@code beatchaser.audio.base-dir} set, only the file name of the stored path is used and looked up in that directory,
+ * since the stored paths point at the machine the catalog was seeded on.
+ */
+@Service
+@Slf4j
+public class SongAudioService {
+
+    private final SongCatalog songCatalog;
+    private final Path baseDir;
+    private final Map<UUID, AudioFile> files = new ConcurrentHashMap<>();
+
+    public SongAudioService(SongCatalog songCatalog,
+                            @Value("${beatchaser.audio.base-dir:}") String baseDir) {
+        this.songCatalog = songCatalog;
+        this.baseDir = baseDir.isEmpty() ? null : Path.of(baseDir).toAbsolutePath().normalize();
+    }
+
+    public Optional<AudioFile> find(UUID songId) {
+        SongDTO song = songCatalog.getSnapshot().getSongsById().get(songId);
+        if (song == null || song.getAudioPreviewUrl() == null) {
+            return Optional.empty();
+        }
+        Path path = resolve(song.getAudioPreviewUrl());
+        if (path == null) {
+            return Optional.empty();
+        }
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            log.debug("Audio file for song {} not readable: {}", songId, e.getMessage());
+            return Optional.empty();
+        }
+        if (!attributes.isRegularFile()) {
+            return Optional.empty();
+        }
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        AudioFile cached = files.get(songId);
+        if (cached != null && cached.path().equals(path) && cached.length() == length && cached.lastModified() == lastModified) {
+            return Optional.of(cached);
+        }
+        // Strong validator: changes whenever the file is replaced, identical on every node serving the same file
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+        AudioFile audioFile = new AudioFile(path, length, lastModified, etag,
+                MediaTypeFactory.getMediaType(path.getFileName().toString()).orElse(MediaType.APPLICATION_OCTET_STREAM));
+        files.put(songId, audioFile);
+        return Optional.of(audioFile);
+    }
+
+    private Path resolve(String storedPath) {
+        if (baseDir == null) {
+            return Path.of(storedPath);
+        }
+        String fileName = storedPath.substring(Math.max(storedPath.lastIndexOf('/'), storedPath.lastIndexOf('\\')) + 1);
+        Path path = baseDir.resolve(fileName).normalize();
+        return path.startsWith(baseDir) ? path : null;
+    }
+
+    public record AudioFile(Path path, long length, long lastModified, String etag, MediaType contentType) {
+    }
+}
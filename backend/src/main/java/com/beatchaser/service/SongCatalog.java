@@ -0,0 +1,86 @@
+package com.beatchaser.service;
+
+import com.beatchaser.dto.SongDTO;
+import com.beatchaser.mapper.SongMapper;
+import com.beatchaser.repository.SongRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory, immutable view of the song catalog. Readers grab the current {@link Snapshot}
+ * and never touch the database; a new snapshot is built and swapped in when the catalog changes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SongCatalog {
+
+    private final SongRepository songRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void refresh() {
+        String fingerprint = songRepository.getCatalogFingerprint();
+        List<SongDTO> songs = songRepository.findAll().stream()
+                .map(SongMapper::toSongDTO)
+                .toList();
+        Snapshot previous = snapshot;
+        snapshot = new Snapshot(previous.getVersion() + 1, fingerprint, songs);
+        log.info("Song catalog snapshot v{} loaded with {} songs", snapshot.getVersion(), songs.size());
+        eventPublisher.publishEvent(new SongCatalogRefreshedEvent(previous, snapshot));
+    }
+
+    @Scheduled(fixedDelayString = "${beatchaser.song-catalog.refresh-check-ms:60000}")
+    public void refreshIfChanged() {
+        if (!Objects.equals(snapshot.getFingerprint(), songRepository.getCatalogFingerprint())) {
+            refresh();
+        }
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    @Getter
+    public static class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(0, null, List.of());
+
+        private final long version;
+        private final String fingerprint;
+        private final String etag;
+        private final List<SongDTO> songs;
+        private final Map<UUID, SongDTO> songsById;
+        private final UUID[] songIds;
+
+        Snapshot(long version, String fingerprint, List<SongDTO> songs) {
+            this.version = version;
+            this.fingerprint = fingerprint;
+            // Derived from catalog content rather than the local version so every node agrees on it
+            this.etag = "\"" + DigestUtils.md5DigestAsHex(String.valueOf(fingerprint).getBytes(StandardCharsets.UTF_8)) + "\"";
+            this.songs = List.copyOf(songs);
+            this.songsById = songs.stream().collect(Collectors.toUnmodifiableMap(SongDTO::getId, Function.identity()));
+            this.songIds = songs.stream().map(SongDTO::getId).toArray(UUID[]::new);
+        }
+
+        public int size() {
+            return songIds.length;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.beatchaser.service;
+
+import lombok.Getter;
+
+/**
+ * Published by {@link SongCatalog} after a new snapshot has been swapped in.
+ */
+@Getter
+public class SongCatalogRefreshedEvent {
+    private final SongCatalog.Snapshot previous;
+    private final SongCatalog.Snapshot current;
+
+    public SongCatalogRefreshedEvent(SongCatalog.Snapshot previous, SongCatalog.Snapshot current) {
+        this.previous = previous;
+        this.current = current;
+    }
+}
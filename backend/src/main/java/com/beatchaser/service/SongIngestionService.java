@@ -0,0 +1,243 @@
+package com.beatchaser.service;
+
+import com.beatchaser.dto.IngestionStatusDTO;
+import com.beatchaser.repository.SongIngestionRepository;
+import com.beatchaser.util.Id3Tags;
+import com.beatchaser.util.Mp3FrameIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Imports MP3 files from {@code beatchaser.ingest.root} into the song catalog. Files are read in parallel on a
+ * fork-join pool while the previous batch is being written, and each batch is upserted by one statement keyed on
+ * the file's path relative to the root. Files whose size and modification time match the last import are skipped,
+ * so an interrupted run simply continues where it stopped when started again.
+ */
+@Service
+@Slf4j
+public class SongIngestionService {
+
+    private final SongIngestionRepository songIngestionRepository;
+    private final SongCatalog songCatalog;
+    private final ObjectMapper objectMapper;
+    private final String root;
+    private final int batchSize;
+    private final int parallelism;
+    private final boolean onStartup;
+    private final AtomicReference<Run> current = new AtomicReference<>();
+    private volatile Run last;
+
+    public SongIngestionService(SongIngestionRepository songIngestionRepository,
+                                SongCatalog songCatalog,
+                                ObjectMapper objectMapper,
+                                @Value("${beatchaser.ingest.root:}") String root,
+                                @Value("${beatchaser.ingest.batch-size:1000}") int batchSize,
+                                @Value("${beatchaser.ingest.parallelism:0}") int parallelism,
+                                @Value("${beatchaser.ingest.on-startup:false}") boolean onStartup) {
+        this.songIngestionRepository = songIngestionRepository;
+        this.songCatalog = songCatalog;
+        this.objectMapper = objectMapper;
+        this.root = root;
+        this.batchSize = batchSize;
+        // Reading tags and walking frames waits on the disk as much as the CPU
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors() * 2;
+        this.onStartup = onStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void ingestOnStartup() {
+        if (onStartup && !root.isEmpty()) {
+            start();
+        }
+    }
+
+    /**
+     * Starts an ingestion run in the background. Returns false if one is already running.
+     */
+    public boolean start() {
+        if (root.isEmpty()) {
+            throw new IllegalArgumentException("No music directory configured (beatchaser.ingest.root)");
+        }
+        Run run = new Run(Path.of(root).toAbsolutePath().normalize());
+        if (!current.compareAndSet(null, run)) {
+            return false;
+        }
+        last = run;
+        Thread thread = new Thread(() -> execute(run), "song-ingestion");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    public IngestionStatusDTO status() {
+        Run run = last;
+        return run != null ? run.status() : IngestionStatusDTO.builder().root(root).build();
+    }
+
+    private void execute(Run run) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            Map<String, SongIngestionRepository.SourceState> known = songIngestionRepository.findSourceStates();
+            CompletableFuture<List<SongIngestionRepository.SongRow>> reading = null;
+            try (Stream<Path> files = Files.walk(run.root)) {
+                Iterator<Path> iterator = files
+                        .filter(file -> file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".mp3"))
+                        .iterator();
+                List<Path> batch = new ArrayList<>(batchSize);
+                while (iterator.hasNext()) {
+                    batch.add(iterator.next());
+                    run.scanned.incrementAndGet();
+                    if (batch.size() == batchSize || !iterator.hasNext()) {
+                        // Read this batch while the previous one is written
+                        List<Path> toRead = batch;
+                        var next = CompletableFuture.supplyAsync(() -> read(toRead, known, run), pool);
+                        write(reading, run);
+                        reading = next;
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+            }
+            write(reading, run);
+            if (run.imported.get() > 0) {
+                songCatalog.refresh();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Song ingestion from {} failed", run.root, e);
+            run.error = e.getMessage();
+        } finally {
+            pool.shutdown();
+            run.finishedAt = Instant.now();
+            current.set(null);
+            var status = run.status();
+            log.info("Song ingestion from {} finished: {} files scanned, {} unchanged, {} imported, {} failed, {} files/s",
+                    run.root, status.getScanned(), status.getUnchanged(), status.getImported(), status.getFailed(),
+                    String.format(Locale.ROOT, "%.1f", status.getFilesPerSecond()));
+        }
+    }
+
+    private void write(CompletableFuture<List<SongIngestionRepository.SongRow>> reading, Run run) {
+        if (reading == null) {
+            return;
+        }
+        List<SongIngestionRepository.SongRow> rows = reading.join();
+        if (!rows.isEmpty()) {
+            songIngestionRepository.upsertBatch(rows);
+            run.imported.addAndGet(rows.size());
+            log.debug("Ingested {} songs from {}", run.imported.get(), run.root);
+        }
+    }
+
+    private List<SongIngestionRepository.SongRow> read(List<Path> files,
+                                                       Map<String, SongIngestionRepository.SourceState> known, Run run) {
+        // Runs inside the pool, so the parallel stream uses its workers
+        return files.parallelStream()
+                .map(file -> read(file, known, run))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private SongIngestionRepository.SongRow read(Path file, Map<String, SongIngestionRepository.SourceState> known, Run run) {
+        String externalId = run.root.relativize(file).toString().replace('\\', '/');
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                return null;
+            }
+            var state = new SongIngestionRepository.SourceState(attributes.size(), attributes.lastModifiedTime().toMillis());
+            if (state.equals(known.get(externalId))) {
+                run.unchanged.incrementAndGet();
+                return null;
+            }
+            Id3Tags.Tags tags = Id3Tags.read(file);
+            long durationMs = Mp3FrameIndex.build(file, 1000).getDurationMs();
+            return new SongIngestionRepository.SongRow(
+                    externalId,
+                    tags.title() != null ? tags.title() : baseName(file),
+                    tags.artist(),
+                    tags.album(),
+                    (int) Math.round(durationMs / 1000.0),
+                    file.toString(),
+                    metadataJson(tags, state));
+        } catch (IOException | RuntimeException e) {
+            run.failed.incrementAndGet();
+            log.debug("Skipping {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private String metadataJson(Id3Tags.Tags tags, SongIngestionRepository.SourceState state) {
+        ObjectNode metadata = objectMapper.createObjectNode();
+        if (tags.genre() != null) {
+            metadata.put("genre", tags.genre());
+        }
+        if (tags.year() != null) {
+            metadata.put("year", tags.year());
+        }
+        metadata.putObject("source")
+                .put("size", state.size())
+                .put("modified", state.modified());
+        return metadata.toString();
+    }
+
+    private static String baseName(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    private static final class Run {
+        private final Path root;
+        private final Instant startedAt = Instant.now();
+        private final AtomicLong scanned = new AtomicLong();
+        private final AtomicLong unchanged = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private Run(Path root) {
+            this.root = root;
+        }
+
+        IngestionStatusDTO status() {
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            double seconds = Math.max(Duration.between(startedAt, end).toMillis(), 1) / 1000.0;
+            long processed = unchanged.get() + imported.get() + failed.get();
+            return IngestionStatusDTO.builder()
+                    .running(finishedAt == null)
+                    .root(root.toString())
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .scanned(scanned.get())
+                    .unchanged(unchanged.get())
+                    .imported(imported.get())
+                    .failed(failed.get())
+                    .filesPerSecond(processed / seconds)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.beatchaser.service;
+
+import com.beatchaser.dto.SongDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Draws distinct random songs without scanning the songs table.
+ * Picks indexes into the catalog snapshot's id array with Floyd's algorithm,
+ * so a draw costs O(n) in the number of requested songs and touches no table at all.
+ */
+@Service
+@RequiredArgsConstructor
+public class SongSampler {
+
+    private final SongCatalog songCatalog;
+
+    /**
+     * Draws songs from the in-memory catalog only, without any query. The songs may have been deleted since
+     * the last catalog refresh, which callers relying on foreign keys will notice on insert.
+     */
+    public List<SongDTO> sampleFromCatalog(int numberOfSongs) {
+        SongCatalog.Snapshot snapshot = songCatalog.getSnapshot();
+        return pickIds(snapshot, numberOfSongs).stream()
+                .map(snapshot.getSongsById()::get)
+                .toList();
+    }
+
+    private List<UUID> pickIds(SongCatalog.Snapshot snapshot, int count) {
+        UUID[] ids = snapshot.getSongIds();
+        int total = ids.length;
+        if (count > total) {
+            throw new RuntimeException("Not enough songs in database. Found " + total + " songs, but need " + count);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Set<Integer> picked = new HashSet<>(count * 2);
+        for (int j = total - count; j < total; j++) {
+            int candidate = random.nextInt(j + 1);
+            picked.add(picked.contains(candidate) ? j : candidate);
+        }
+        List<UUID> result = new ArrayList<>(count);
+        for (int index : picked) {
+            result.add(ids[index]);
+        }
+        Collections.shuffle(result, random);
+        return result;
+    }
+}
@@ -0,0 +1,287 @@
+package com.beatchaser.service;
+
+import com.beatchaser.dto.SongDTO;
+import com.beatchaser.util.TextNormalizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typeahead index over song titles and artists.
+ * Text is accent-folded and split into word trigrams; a query matches songs sharing most of its trigrams,
+ * which tolerates a typo or two. The last query word is treated as a prefix.
+ * Songs added to the catalog are indexed incrementally, removed ones are tombstoned until the next rebuild.
+ * A song whose title or artist changed is re-indexed: its old postings are dropped and it gets a new ordinal.
+ */
+@Service
+@Slf4j
+public class SongSearchIndex {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+    private static final int MAX_CANDIDATES = 5000;
+    private static final double REBUILD_REMOVED_RATIO = 0.2;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> trigramIds = new HashMap<>();
+    private final List<IntList> postings = new ArrayList<>();
+    private final List<SongDTO> songs = new ArrayList<>();
+    private final List<String> foldedTitles = new ArrayList<>();
+    private final List<String> foldedKeys = new ArrayList<>();
+    private final List<int[]> songTrigrams = new ArrayList<>();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final BitSet removed = new BitSet();
+    private int removedCount;
+
+    @EventListener
+    public void onCatalogRefreshed(SongCatalogRefreshedEvent event) {
+        SongCatalog.Snapshot current = event.getCurrent();
+        lock.writeLock().lock();
+        try {
+            int added = 0;
+            int changed = 0;
+            for (SongDTO song : current.getSongs()) {
+                Integer ordinal = ordinals.get(song.getId());
+                if (ordinal == null) {
+                    add(song);
+                    added++;
+                } else if (!foldedKeys.get(ordinal).equals(foldedKey(song))) {
+                    unindex(ordinal);
+                    add(song);
+                    changed++;
+                } else {
+                    songs.set(ordinal, song);
+                }
+            }
+            List<UUID> gone = ordinals.keySet().stream()
+                    .filter(id -> !current.getSongsById().containsKey(id))
+                    .toList();
+            for (UUID id : gone) {
+                removed.set(ordinals.remove(id));
+                removedCount++;
+            }
+            if (removedCount > songs.size() * REBUILD_REMOVED_RATIO) {
+                rebuild(current.getSongs());
+            }
+            log.info("Song search index updated: {} added, {} re-indexed, {} removed, {} live",
+                    added, changed, gone.size(), ordinals.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<SongDTO> search(String query, int limit) {
+        String folded = TextNormalizer.fold(query);
+        if (folded.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return searchFolded(folded, Math.min(Math.max(limit, 1), MAX_LIMIT));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<SongDTO> searchFolded(String folded, int limit) {
+        long[] queryTrigrams = trigrams(folded, true);
+        int total = queryTrigrams.length;
+        // A typo in the middle of a word destroys up to three trigrams
+        int allowedMisses = total < 5 ? 0 : total < 12 ? 3 : 6;
+        int minMatches = Math.max(1, total - allowedMisses);
+
+        int unknown = 0;
+        List<IntList> known = new ArrayList<>(total);
+        int[] knownIds = new int[total];
+        for (long trigram : queryTrigrams) {
+            Integer id = trigramIds.get(trigram);
+            if (id == null) {
+                unknown++;
+            } else {
+                knownIds[known.size()] = id;
+                known.add(postings.get(id));
+            }
+        }
+        if (total - unknown < minMatches) {
+            return List.of();
+        }
+        int[] queryIds = Arrays.copyOf(knownIds, known.size());
+        Arrays.sort(queryIds);
+
+        // Any song with minMatches hits contains at least one of the (total - minMatches + 1) rarest trigrams
+        known.sort(Comparator.comparingInt(IntList::size));
+        int probe = Math.max(0, total - minMatches + 1 - unknown);
+        Set<Integer> candidates = new HashSet<>();
+        for (int i = 0; i < probe && i < known.size() && candidates.size() < MAX_CANDIDATES; i++) {
+            IntList list = known.get(i);
+            for (int j = 0; j < list.size() && candidates.size() < MAX_CANDIDATES; j++) {
+                candidates.add(list.get(j));
+            }
+        }
+
+        PriorityQueue<ScoredSong> best = new PriorityQueue<>(Comparator.comparingInt(ScoredSong::score));
+        for (int ordinal : candidates) {
+            if (removed.get(ordinal)) {
+                continue;
+            }
+            int matches = countMatches(songTrigrams.get(ordinal), queryIds);
+            if (matches < minMatches) {
+                continue;
+            }
+            String title = foldedTitles.get(ordinal);
+            int score = matches * 1000 / total
+                    + (title.startsWith(folded) ? 500 : 0)
+                    - Math.min(title.length(), 100);
+            best.add(new ScoredSong(ordinal, score));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<SongDTO> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            result.add(songs.get(best.poll().ordinal()));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private void rebuild(List<SongDTO> catalog) {
+        trigramIds.clear();
+        postings.clear();
+        songs.clear();
+        foldedTitles.clear();
+        foldedKeys.clear();
+        songTrigrams.clear();
+        ordinals.clear();
+        removed.clear();
+        removedCount = 0;
+        catalog.forEach(this::add);
+    }
+
+    private void add(SongDTO song) {
+        int ordinal = songs.size();
+        String title = TextNormalizer.fold(song.getTitle());
+        String key = foldedKey(song);
+        long[] songGrams = trigrams(key, false);
+        int[] ids = new int[songGrams.length];
+        for (int i = 0; i < songGrams.length; i++) {
+            Integer id = trigramIds.get(songGrams[i]);
+            if (id == null) {
+                id = postings.size();
+                trigramIds.put(songGrams[i], id);
+                postings.add(new IntList());
+            }
+            postings.get(id).add(ordinal);
+            ids[i] = id;
+        }
+        Arrays.sort(ids);
+        songs.add(song);
+        foldedTitles.add(title);
+        foldedKeys.add(key);
+        songTrigrams.add(ids);
+        ordinals.put(song.getId(), ordinal);
+    }
+
+    /**
+     * Drops an ordinal from every posting list it appears in and tombstones it.
+     */
+    private void unindex(int ordinal) {
+        for (int id : songTrigrams.get(ordinal)) {
+            postings.get(id).remove(ordinal);
+        }
+        songTrigrams.set(ordinal, new int[0]);
+        removed.set(ordinal);
+        removedCount++;
+    }
+
+    private static String foldedKey(SongDTO song) {
+        return TextNormalizer.fold(song.getTitle()) + " " + TextNormalizer.fold(song.getArtist());
+    }
+
+    private static int countMatches(int[] songIds, int[] queryIds) {
+        int matches = 0;
+        int i = 0;
+        int j = 0;
+        while (i < songIds.length && j < queryIds.length) {
+            if (songIds[i] == queryIds[j]) {
+                matches++;
+                i++;
+                j++;
+            } else if (songIds[i] < queryIds[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Distinct trigrams of every word padded as "  word ". When {@code lastWordIsPrefix} the final word
+     * gets no trailing pad, so "bohem" matches "bohemian".
+     */
+    private static long[] trigrams(String folded, boolean lastWordIsPrefix) {
+        Set<Long> grams = new HashSet<>();
+        String[] words = folded.split(" ");
+        for (int w = 0; w < words.length; w++) {
+            if (words[w].isEmpty()) {
+                continue;
+            }
+            boolean prefix = lastWordIsPrefix && w == words.length - 1;
+            String padded = "  " + words[w] + (prefix ? "" : " ");
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+            }
+        }
+        return grams.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private record ScoredSong(int ordinal, int score) {
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        void remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    System.arraycopy(values, i + 1, values, i, size - i - 1);
+                    size--;
+                    return;
+                }
+            }
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
@@ -1,32 +1,112 @@
 package com.beatchaser.service;
 
 import com.beatchaser.dto.SongDTO;
-import com.beatchaser.mapper.SongMapper;
+import com.beatchaser.dto.SongFilter;
+import com.beatchaser.dto.SongPageDTO;
 import com.beatchaser.model.Song;
+import com.beatchaser.repository.SongQueryRepository;
 import com.beatchaser.repository.SongRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
-import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 @RequiredArgsConstructor
 public class SongService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    private static final int UUID_LENGTH = 36;
+
     private final SongRepository songRepository;
+    private final SongQueryRepository songQueryRepository;
+    private final SongCatalog songCatalog;
+    private final ObjectMapper objectMapper;
 
     public Song getRandomSong() {
-        List<Song> songs = songRepository.findAll();
-        if (songs.isEmpty()) {
+        UUID[] songIds = songCatalog.getSnapshot().getSongIds();
+        if (songIds.length == 0) {
             throw new IllegalStateException("No songs found");
         }
-        return songs.get(new Random().nextInt(songs.size()));
+        UUID songId = songIds[ThreadLocalRandom.current().nextInt(songIds.length)];
+        return songRepository.findById(songId)
+                .orElseThrow(() -> new IllegalStateException("Song " + songId + " no longer exists"));
     }
+
     public List<SongDTO> getAllSongs() {
-        return songRepository.findAll()
-                .stream()
-                .map(SongMapper::toSongDTO)
-                .toList();
+        return songCatalog.getSnapshot().getSongs();
+    }
+
+    public SongCatalog.Snapshot getCatalogSnapshot() {
+        return songCatalog.getSnapshot();
+    }
+
+    public SongPageDTO getSongPage(SongFilter filter, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        String afterTitle = null;
+        UUID afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String decoded = decodeCursor(cursor);
+            afterId = UUID.fromString(decoded.substring(0, UUID_LENGTH));
+            afterTitle = decoded.substring(UUID_LENGTH);
+        }
+        // One extra row tells us whether another page exists
+        List<SongDTO> rows = songQueryRepository.findPage(filter, afterTitle, afterId, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<SongDTO> items = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? encodeCursor(items.get(items.size() - 1)) : null;
+        return SongPageDTO.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Writes matching songs as newline-delimited JSON while they are read from the database cursor.
+     */
+    @Transactional(readOnly = true)
+    public void streamSongs(SongFilter filter, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            songQueryRepository.streamAll(filter, song -> {
+                try {
+                    objectMapper.writeValue(generator, song);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private String encodeCursor(SongDTO last) {
+        String raw = last.getId() + last.getTitle();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.length() < UUID_LENGTH) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return decoded;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
     }
-}
\ No newline at end of file
+}
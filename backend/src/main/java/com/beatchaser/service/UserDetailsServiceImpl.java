@@ -4,19 +4,17 @@ import com.beatchaser.dto.user.CustomUserDetails;
 import com.beatchaser.model.User;
 import com.beatchaser.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Service
 @RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final UserRoles userRoles;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -28,7 +26,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 user.getUsername(),
                 user.getPasswordHash(),
                 user.getEmail(),
-                List.of(new SimpleGrantedAuthority("ROLE_USER"))
+                userRoles.authoritiesOf(user.getUsername())
         );
     }
 }
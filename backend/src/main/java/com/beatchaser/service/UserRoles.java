@@ -0,0 +1,38 @@
+package com.beatchaser.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Roles granted to a user. Everyone is a {@code USER}; the accounts listed in {@code beatchaser.admin.usernames}
+ * are also {@code ADMIN}, which guards operational endpoints such as catalog ingestion.
+ */
+@Component
+public class UserRoles {
+
+    public static final String ADMIN = "ADMIN";
+
+    private static final List<GrantedAuthority> USER = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+    private static final List<GrantedAuthority> USER_AND_ADMIN = List.of(
+            new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_" + ADMIN));
+
+    private final Set<String> adminUsernames;
+
+    public UserRoles(@Value("${beatchaser.admin.usernames:}") String adminUsernames) {
+        this.adminUsernames = Arrays.stream(adminUsernames.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public List<GrantedAuthority> authoritiesOf(String username) {
+        return adminUsernames.contains(username) ? USER_AND_ADMIN : USER;
+    }
+}
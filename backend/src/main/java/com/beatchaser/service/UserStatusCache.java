@@ -0,0 +1,64 @@
+package com.beatchaser.service;
+
+import com.beatchaser.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Optional revocation check for JWT-authenticated requests: whether the token's user is still active.
+ * Answers are cached for a short time in a bounded map, so a deactivated account is locked out within one TTL
+ * while the users table sees at most one query per user per TTL. Disabled by default, in which case a valid
+ * token is trusted until it expires.
+ */
+@Service
+public class UserStatusCache {
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final long ttlMs;
+    private final int maxSize;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    public UserStatusCache(UserRepository userRepository,
+                           @Value("${beatchaser.auth.revocation-check.enabled:false}") boolean enabled,
+                           @Value("${beatchaser.auth.revocation-check.ttl-ms:60000}") long ttlMs,
+                           @Value("${beatchaser.auth.revocation-check.max-size:10000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.ttlMs = ttlMs;
+        this.maxSize = maxSize;
+    }
+
+    public boolean isActive(UUID userId) {
+        if (!enabled) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(userId);
+        if (entry != null && entry.expiresAt() > now) {
+            return entry.active();
+        }
+        boolean active = userRepository.existsByIdAndIsActiveTrue(userId);
+        if (entries.size() >= maxSize) {
+            entries.values().removeIf(e -> e.expiresAt() <= now);
+        }
+        if (entries.size() < maxSize) {
+            entries.put(userId, new Entry(active, now + ttlMs));
+        }
+        return active;
+    }
+
+    /**
+     * Drops the cached answer, e.g. after an account was deactivated on this node.
+     */
+    public void evict(UUID userId) {
+        entries.remove(userId);
+    }
+
+    private record Entry(boolean active, long expiresAt) {
+    }
+}
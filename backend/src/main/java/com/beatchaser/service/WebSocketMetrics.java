@@ -0,0 +1,115 @@
+package com.beatchaser.service;
+
+import com.beatchaser.dto.WebSocketStatsDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Counters for the STOMP channel executors and WebSocket sessions: queue depth, queue wait and task time per channel,
+ * open sessions, and sessions closed for being too slow to keep up with outbound messages.
+ */
+@Component
+@Slf4j
+public class WebSocketMetrics {
+
+    private final Map<String, ChannelStats> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final LongAdder evictedSessions = new LongAdder();
+
+    public ChannelStats channel(String name) {
+        return channels.computeIfAbsent(name, key -> new ChannelStats());
+    }
+
+    public void sessionOpened() {
+        activeSessions.incrementAndGet();
+    }
+
+    public void sessionClosed(CloseStatus status) {
+        activeSessions.decrementAndGet();
+        // Spring closes sessions with this status when they exceed the send time or buffer limit
+        if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(status)) {
+            evictedSessions.increment();
+        }
+    }
+
+    public WebSocketStatsDTO snapshot() {
+        Map<String, WebSocketStatsDTO.ChannelStatsDTO> channelStats = new LinkedHashMap<>();
+        channels.forEach((name, stats) -> channelStats.put(name, stats.toDto(false)));
+        return WebSocketStatsDTO.builder()
+                .activeSessions(activeSessions.get())
+                .evictedSessions(evictedSessions.sum())
+                .channels(channelStats)
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${beatchaser.websocket.metrics.log-interval-ms:60000}",
+            initialDelayString = "${beatchaser.websocket.metrics.log-interval-ms:60000}")
+    void logStats() {
+        channels.forEach((name, stats) -> {
+            var dto = stats.toDto(true);
+            log.info("STOMP {} channel: queue={} active={} submitted={} rejected={} avgWait={}us maxWait={}us avgTask={}us",
+                    name, dto.getQueueDepth(), dto.getActiveThreads(), dto.getSubmitted(), dto.getRejected(),
+                    dto.getAvgQueueWaitMicros(), dto.getMaxQueueWaitMicros(), dto.getAvgTaskMicros());
+        });
+        log.info("WebSocket sessions: active={} evicted={}", activeSessions.get(), evictedSessions.sum());
+    }
+
+    public static final class ChannelStats {
+        private final LongAdder submitted = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder queueWaitNanos = new LongAdder();
+        private final LongAdder taskNanos = new LongAdder();
+        private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0);
+        private volatile IntSupplier queueDepth = () -> 0;
+        private volatile IntSupplier activeThreads = () -> 0;
+
+        public void bind(IntSupplier queueDepth, IntSupplier activeThreads) {
+            this.queueDepth = queueDepth;
+            this.activeThreads = activeThreads;
+        }
+
+        public void submitted() {
+            submitted.increment();
+        }
+
+        public void rejected() {
+            rejected.increment();
+        }
+
+        public void completed(long waitNanos, long runNanos) {
+            completed.increment();
+            queueWaitNanos.add(waitNanos);
+            taskNanos.add(runNanos);
+            maxQueueWaitNanos.accumulate(waitNanos);
+        }
+
+        /**
+         * @param resetMax start a new window for the maximum queue wait, used by the periodic log
+         */
+        WebSocketStatsDTO.ChannelStatsDTO toDto(boolean resetMax) {
+            long done = Math.max(completed.sum(), 1);
+            long maxWait = resetMax ? maxQueueWaitNanos.getThenReset() : maxQueueWaitNanos.get();
+            return WebSocketStatsDTO.ChannelStatsDTO.builder()
+                    .queueDepth(queueDepth.getAsInt())
+                    .activeThreads(activeThreads.getAsInt())
+                    .submitted(submitted.sum())
+                    .completed(completed.sum())
+                    .rejected(rejected.sum())
+                    .avgQueueWaitMicros(queueWaitNanos.sum() / done / 1000)
+                    .maxQueueWaitMicros(maxWait / 1000)
+                    .avgTaskMicros(taskNanos.sum() / done / 1000)
+                    .build();
+        }
+    }
+}
@@ -1,13 +1,27 @@
 package com.beatchaser.service;
 
+import com.beatchaser.cluster.ClusterBus;
+import com.beatchaser.cluster.ClusterMessage;
+import com.beatchaser.cluster.ClusterTopology;
+import com.beatchaser.dto.EndGameResponseDTO;
+import com.beatchaser.dto.ErrorResponseDTO;
 import com.beatchaser.dto.WebSocketMessage;
 import com.beatchaser.dto.game.GameStarted;
+import com.beatchaser.dto.round.ClipPrefetch;
+import com.beatchaser.dto.round.RoundEnded;
+import com.beatchaser.dto.round.RoundStarted;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
 
-import java.time.Instant;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -15,7 +29,16 @@ import java.util.UUID;
 @Slf4j
 public class WebSocketService {
 
+    private static final Map<String, Object> JSON_HEADERS = Map.of(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON);
+    // Octet-stream content makes Spring send a binary WebSocket frame (raw WebSocket only, SockJS is text-only)
+    private static final Map<String, Object> BINARY_HEADERS = Map.of(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_OCTET_STREAM);
+
     private final SimpMessagingTemplate messagingTemplate;
+    private final ClusterTopology clusterTopology;
+    private final ClusterBus clusterBus;
+    private final BroadcastFrameEncoder frameEncoder;
+    private final BinaryFrameEncoder binaryFrameEncoder;
+    private final BinarySubscriptionTracker binarySubscriptionTracker;
 
     /**
      * Send a message to all subscribers of a specific topic
@@ -25,8 +48,8 @@ public class WebSocketService {
                 .type(type)
                 .payload(payload)
                 .build();
-        messagingTemplate.convertAndSend("/topic/" + topic, message);
-        log.info("Sent message to topic {}: {}", topic, type);
+        send(null, "/topic/" + topic, message);
+        log.debug("Sent message to topic {}: {}", topic, type);
     }
 
     /**
@@ -38,26 +61,101 @@ public class WebSocketService {
                 .payload(data)
                 .build();
 
-        String topic = "game-" + gameId + "/events";
-        messagingTemplate.convertAndSend("/topic/" + topic, message);
-        log.info("Sent game event to topic {}: {}, {}", topic, eventType, message);
+        send(gameId, "/topic/game-" + gameId + "/events", message);
+        // Never format the message itself here: this runs for every event of every game
+        log.debug("Sent game event {} to game {}", eventType, gameId);
+    }
+
+    /**
+     * Delivers an already serialized JSON payload to this node's subscribers only.
+     */
+    public void deliverLocally(UUID gameId, String destination, String json) {
+        deliverLocally(destination, json.getBytes(StandardCharsets.UTF_8));
+        if (hasBinarySubscribers(gameId)) {
+            deliverBinary(destination, binaryFrameEncoder.encodeJson(json));
+        }
     }
+
+    private void deliverLocally(String destination, byte[] frame) {
+        // A byte[] payload skips the message converter; the broker passes this same array to every session
+        messagingTemplate.send(destination, MessageBuilder.createMessage(frame, new MessageHeaders(JSON_HEADERS)));
+    }
+
+    private void deliverBinary(String destination, byte[] frame) {
+        messagingTemplate.send(destination + BinarySubscriptionTracker.BINARY_SUFFIX,
+                MessageBuilder.createMessage(frame, new MessageHeaders(BINARY_HEADERS)));
+    }
+
+    /**
+     * The tracker only sees this node's sessions. That is enough with the simple broker, where every node re-encodes
+     * the events it receives for its own subscribers, but an external relay delivers to sessions on all nodes, so
+     * there binary frames are always published.
+     */
+    private boolean hasBinarySubscribers(UUID gameId) {
+        return gameId != null && (clusterTopology.isBrokerRelay() || binarySubscriptionTracker.hasSubscribers(gameId));
+    }
+
+    private void send(UUID gameId, String destination, WebSocketMessage<?> message) {
+        byte[] frame = frameEncoder.encode(message);
+        deliverLocally(destination, frame);
+        if (hasBinarySubscribers(gameId)) {
+            deliverBinary(destination, binaryFrameEncoder.encode(message));
+        }
+        if (clusterTopology.isEventFanOut()) {
+            clusterBus.publish(ClusterMessage.builder()
+                    .type(ClusterMessage.Type.EVENT)
+                    .sourceNode(clusterTopology.getNodeId())
+                    .gameId(gameId)
+                    .destination(destination)
+                    .payload(new String(frame, StandardCharsets.UTF_8))
+                    .build());
+        }
+    }
+
+    /**
+     * Send a message to the sessions of one user only, on {@code /user/queue/{queue}}
+     */
+    public void sendToUser(String username, String queue, String type, Object payload) {
+        WebSocketMessage<Object> message = WebSocketMessage.builder()
+                .type(type)
+                .payload(payload)
+                .build();
+        messagingTemplate.convertAndSendToUser(username, "/queue/" + queue, message);
+    }
+
+    /**
+     * Report a rejected command to the user on {@code /user/queue/errors}
+     */
+    public void sendError(String username, String error) {
+        sendToUser(username, "errors", "error", ErrorResponseDTO.builder()
+                .timestamp(LocalDateTime.now())
+                .status(400)
+                .error("Bad Request")
+                .message(error)
+                .build());
+    }
+
     public void sendGameStartEvent(UUID gameId, GameStarted data) {
         sendGameEvent(gameId, "game-started", data);
     }
-//    public void sendGameOverEvent(UUID gameId, GameOver data) {
-//        sendGameEvent(gameId, "game-over", data);
-//    }
-//
-//    public void sendGuessEvent(UUID gameId, Object data) {
-//        sendGameEvent(gameId, "guess", data);
-//    }
+    public void sendGameOverEvent(UUID gameId, EndGameResponseDTO data) {
+        sendGameEvent(gameId, "game-over", data);
+    }
+
 //
 //    public void sendCurrentSongEvent(UUID gameId, Object data) {
 //        sendGameEvent(gameId, "current-song", data);
 //    }
-//
-//    public void sendRoundStartEvent(UUID gameId, Object data) {
-//        sendGameEvent(gameId, "round-start", data);
-//    }
+
+    public void sendRoundStartEvent(UUID gameId, RoundStarted data) {
+        sendGameEvent(gameId, "round-start", data);
+    }
+
+    public void sendRoundEndEvent(UUID gameId, RoundEnded data) {
+        sendGameEvent(gameId, "round-end", data);
+    }
+
+    public void sendClipPrefetchEvent(UUID gameId, ClipPrefetch data) {
+        sendGameEvent(gameId, "clip-prefetch", data);
+    }
 }
\ No newline at end of file
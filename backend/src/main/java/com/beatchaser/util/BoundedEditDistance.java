@@ -0,0 +1,69 @@
+package com.beatchaser.util;
+
+/**
+ * Levenshtein distance with an upper bound. Only the diagonal band of width {@code 2 * max + 1} is evaluated
+ * and the scan stops as soon as every cell in a row exceeds the bound. Row buffers are reused per thread,
+ * so a call does not allocate.
+ */
+public final class BoundedEditDistance {
+
+    private static final ThreadLocal<int[][]> ROWS = ThreadLocal.withInitial(() -> new int[2][64]);
+
+    private BoundedEditDistance() {
+    }
+
+    public static boolean within(CharSequence a, char[] b, int max) {
+        return distance(a, b, max) <= max;
+    }
+
+    /**
+     * @return the edit distance, or {@code max + 1} if it is larger than {@code max}
+     */
+    public static int distance(CharSequence a, char[] b, int max) {
+        int n = a.length();
+        int m = b.length;
+        if (Math.abs(n - m) > max) {
+            return max + 1;
+        }
+        if (m == 0 || n == 0) {
+            return Math.max(n, m);
+        }
+        int[][] rows = ROWS.get();
+        if (rows[0].length <= m) {
+            rows = new int[2][m + 1];
+            ROWS.set(rows);
+        }
+        int[] previous = rows[0];
+        int[] current = rows[1];
+        int outside = max + 1;
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j <= max ? j : outside;
+        }
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(m, i + max);
+            current[0] = i <= max ? i : outside;
+            if (from > 1) {
+                current[from - 1] = outside;
+            }
+            int rowMin = current[0];
+            char ca = a.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int cost = ca == b[j - 1] ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                current[j] = Math.min(value, outside);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < m) {
+                current[to + 1] = outside;
+            }
+            if (rowMin > max) {
+                return outside;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[m], outside);
+    }
+}
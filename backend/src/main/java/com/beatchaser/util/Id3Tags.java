@@ -0,0 +1,216 @@
+package com.beatchaser.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads title, artist, album, genre and year from the ID3v2 tag at the start of an MP3 file, falling back to the
+ * ID3v1 tag at its end. Only the tag bytes are read, never the audio.
+ */
+public final class Id3Tags {
+
+    private static final int MAX_TAG_SIZE = 1 << 20; // tags larger than this carry cover art, text frames come first
+
+    private static final String[] GENRES = {
+            "Blues", "Classic Rock", "Country", "Dance", "Disco", "Funk", "Grunge", "Hip-Hop", "Jazz", "Metal",
+            "New Age", "Oldies", "Other", "Pop", "R&B", "Rap", "Reggae", "Rock", "Techno", "Industrial",
+            "Alternative", "Ska", "Death Metal", "Pranks", "Soundtrack", "Euro-Techno", "Ambient", "Trip-Hop", "Vocal",
+            "Jazz+Funk", "Fusion", "Trance", "Classical", "Instrumental", "Acid", "House", "Game", "Sound Clip",
+            "Gospel", "Noise", "AlternRock", "Bass", "Soul", "Punk", "Space", "Meditative", "Instrumental Pop",
+            "Instrumental Rock", "Ethnic", "Gothic", "Darkwave", "Techno-Industrial", "Electronic", "Pop-Folk",
+            "Eurodance", "Dream", "Southern Rock", "Comedy", "Cult", "Gangsta", "Top 40", "Christian Rap", "Pop/Funk",
+            "Jungle", "Native American", "Cabaret", "New Wave", "Psychadelic", "Rave", "Showtunes", "Trailer", "Lo-Fi",
+            "Tribal", "Acid Punk", "Acid Jazz", "Polka", "Retro", "Musical", "Rock & Roll", "Hard Rock"
+    };
+
+    private Id3Tags() {
+    }
+
+    public record Tags(String title, String artist, String album, String genre, Integer year) {
+    }
+
+    public static Tags read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Builder builder = new Builder();
+            readV2(channel, builder);
+            if (builder.incomplete()) {
+                readV1(channel, builder);
+            }
+            return builder.build();
+        }
+    }
+
+    private static void readV2(FileChannel channel, Builder builder) throws IOException {
+        ByteBuffer header = read(channel, 0, 10);
+        if (header.remaining() < 10 || header.get(0) != 'I' || header.get(1) != 'D' || header.get(2) != '3') {
+            return;
+        }
+        int version = header.get(3);
+        int flags = header.get(5);
+        int size = syncsafe(header, 6);
+        ByteBuffer tag = read(channel, 10, Math.min(size, MAX_TAG_SIZE));
+        if ((flags & 0x40) != 0 && version >= 3 && tag.remaining() >= 4) {
+            // Extended header: v2.4 counts its own size field, v2.3 does not
+            int extended = version == 4 ? syncsafe(tag, 0) : tag.getInt(0) + 4;
+            tag.position(Math.min(extended, tag.limit()));
+        }
+        int idLength = version == 2 ? 3 : 4;
+        int headerLength = version == 2 ? 6 : 10;
+        while (tag.remaining() >= headerLength) {
+            int start = tag.position();
+            if (tag.get(start) == 0) {
+                break; // padding
+            }
+            String id = new String(tag.array(), tag.arrayOffset() + start, idLength, StandardCharsets.ISO_8859_1);
+            int frameSize = version == 2
+                    ? (tag.get(start + 3) & 0xFF) << 16 | (tag.get(start + 4) & 0xFF) << 8 | (tag.get(start + 5) & 0xFF)
+                    : version == 4 ? syncsafe(tag, start + 4) : tag.getInt(start + 4);
+            int dataStart = start + headerLength;
+            if (frameSize <= 0 || dataStart + frameSize > tag.limit()) {
+                break;
+            }
+            if (id.charAt(0) == 'T') {
+                builder.v2Frame(id, text(tag, dataStart, frameSize));
+            }
+            tag.position(dataStart + frameSize);
+        }
+    }
+
+    private static void readV1(FileChannel channel, Builder builder) throws IOException {
+        long size = channel.size();
+        if (size < 128) {
+            return;
+        }
+        ByteBuffer tag = read(channel, size - 128, 128);
+        if (tag.get(0) != 'T' || tag.get(1) != 'A' || tag.get(2) != 'G') {
+            return;
+        }
+        builder.title(latin1(tag, 3, 30));
+        builder.artist(latin1(tag, 33, 30));
+        builder.album(latin1(tag, 63, 30));
+        builder.year(latin1(tag, 93, 4));
+        int genre = tag.get(127) & 0xFF;
+        if (genre < GENRES.length) {
+            builder.genre(GENRES[genre]);
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining() && channel.read(buffer, position + buffer.position()) > 0) {
+            // keep reading until the buffer is full or the file ends
+        }
+        return buffer.flip();
+    }
+
+    private static int syncsafe(ByteBuffer buffer, int offset) {
+        return (buffer.get(offset) & 0x7F) << 21 | (buffer.get(offset + 1) & 0x7F) << 14
+                | (buffer.get(offset + 2) & 0x7F) << 7 | (buffer.get(offset + 3) & 0x7F);
+    }
+
+    private static String text(ByteBuffer tag, int offset, int length) {
+        if (length < 2) {
+            return null;
+        }
+        Charset charset = switch (tag.get(offset)) {
+            case 1 -> StandardCharsets.UTF_16;
+            case 2 -> StandardCharsets.UTF_16BE;
+            case 3 -> StandardCharsets.UTF_8;
+            default -> StandardCharsets.ISO_8859_1;
+        };
+        String value = new String(tag.array(), tag.arrayOffset() + offset + 1, length - 1, charset);
+        // v2.4 separates multiple values with NUL; keep the first
+        int nul = value.indexOf('\0');
+        return clean(nul >= 0 ? value.substring(0, nul) : value);
+    }
+
+    private static String latin1(ByteBuffer tag, int offset, int length) {
+        String value = new String(tag.array(), tag.arrayOffset() + offset, length, StandardCharsets.ISO_8859_1);
+        int nul = value.indexOf('\0');
+        return clean(nul >= 0 ? value.substring(0, nul) : value);
+    }
+
+    private static String clean(String value) {
+        String trimmed = value.strip();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static final class Builder {
+        private String title;
+        private String artist;
+        private String album;
+        private String genre;
+        private Integer year;
+
+        void v2Frame(String id, String value) {
+            switch (id) {
+                case "TIT2", "TT2" -> title(value);
+                case "TPE1", "TP1" -> artist(value);
+                case "TALB", "TAL" -> album(value);
+                case "TCON", "TCO" -> genre(genreName(value));
+                case "TYER", "TYE", "TDRC", "TDOR" -> year(value);
+                default -> {
+                }
+            }
+        }
+
+        void title(String value) {
+            title = title != null ? title : value;
+        }
+
+        void artist(String value) {
+            artist = artist != null ? artist : value;
+        }
+
+        void album(String value) {
+            album = album != null ? album : value;
+        }
+
+        void genre(String value) {
+            genre = genre != null ? genre : value;
+        }
+
+        void year(String value) {
+            if (year == null && value != null && value.length() >= 4) {
+                try {
+                    year = Integer.parseInt(value.substring(0, 4));
+                } catch (NumberFormatException e) {
+                    // not a year, leave it unset
+                }
+            }
+        }
+
+        boolean incomplete() {
+            return title == null || artist == null || album == null || genre == null || year == null;
+        }
+
+        Tags build() {
+            return new Tags(title, artist, album, genre, year);
+        }
+
+        /** ID3v2 genres may be "(17)", "17" or "(17)Rock" referring to the ID3v1 list. */
+        private static String genreName(String value) {
+            if (value == null) {
+                return null;
+            }
+            String reference = value.startsWith("(") && value.indexOf(')') > 1
+                    ? value.substring(1, value.indexOf(')'))
+                    : value;
+            String rest = value.startsWith("(") && value.indexOf(')') > 1 ? clean(value.substring(value.indexOf(')') + 1)) : null;
+            if (rest != null) {
+                return rest;
+            }
+            try {
+                int index = Integer.parseInt(reference);
+                return index >= 0 && index < GENRES.length ? GENRES[index] : null;
+            } catch (NumberFormatException e) {
+                return value;
+            }
+        }
+    }
+}
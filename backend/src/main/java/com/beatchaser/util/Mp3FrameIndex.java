@@ -0,0 +1,198 @@
+package com.beatchaser.util;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Seek index of an MP3 file: the byte offset of the first frame at or after every {@code intervalMs} of audio.
+ * Built by walking the frame headers once (the file is memory-mapped, never copied to the heap); afterwards any
+ * time window maps to a frame-aligned byte range with two array lookups.
+ * Layer III frames can borrow bits from the previous frame, so a decoder may drop the first frame of a slice.
+ */
+public final class Mp3FrameIndex {
+
+    private static final int FORMAT_MAGIC = 0x4D503349; // "MP3I"
+
+    // [version: 0 = MPEG1, 1 = MPEG2/2.5][layer: 0 = I, 1 = II, 2 = III][bitrate index] in kbps
+    private static final int[][][] BITRATES = {
+            {
+                    {0, 32, 64, 96, 128, 160, 192, 224, 256, 288, 320, 352, 384, 416, 448},
+                    {0, 32, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, 384},
+                    {0, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320}
+            },
+            {
+                    {0, 32, 48, 56, 64, 80, 96, 112, 128, 144, 160, 176, 192, 224, 256},
+                    {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160},
+                    {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160}
+            }
+    };
+    // [version bits: 0 = MPEG2.5, 2 = MPEG2, 3 = MPEG1][sample rate index]
+    private static final int[][] SAMPLE_RATES = {
+            {11025, 12000, 8000}, null, {22050, 24000, 16000}, {44100, 48000, 32000}
+    };
+
+    private final int intervalMs;
+    private final long durationMs;
+    private final long audioEnd;
+    private final long[] offsets;
+
+    private Mp3FrameIndex(int intervalMs, long durationMs, long audioEnd, long[] offsets) {
+        this.intervalMs = intervalMs;
+        this.durationMs = durationMs;
+        this.audioEnd = audioEnd;
+        this.offsets = offsets;
+    }
+
+    public static Mp3FrameIndex build(Path file, int intervalMs) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return build(buffer, (int) channel.size(), intervalMs);
+        }
+    }
+
+    private static Mp3FrameIndex build(MappedByteBuffer buffer, int size, int intervalMs) throws IOException {
+        long[] offsets = new long[64];
+        int count = 0;
+        long elapsedMicros = 0; // kept in microseconds so rounding does not drift over long files
+        long audioEnd = 0;
+        int position = skipId3v2(buffer, size);
+        while (position + 4 <= size) {
+            int frameLength = frameLength(buffer, position);
+            if (frameLength <= 0 || !followedByFrame(buffer, size, position + frameLength)) {
+                // Not a header, or a false sync inside other data: move on byte by byte until frames line up again
+                position++;
+                continue;
+            }
+            long elapsedMs = elapsedMicros / 1000;
+            while ((long) count * intervalMs <= elapsedMs) {
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                }
+                offsets[count++] = position;
+            }
+            elapsedMicros += frameDurationMicros(buffer, position);
+            position += frameLength;
+            audioEnd = position;
+        }
+        if (count == 0) {
+            throw new IOException("No MPEG audio frames found");
+        }
+        return new Mp3FrameIndex(intervalMs, elapsedMicros / 1000, audioEnd, Arrays.copyOf(offsets, count));
+    }
+
+    private static boolean followedByFrame(MappedByteBuffer buffer, int size, int next) {
+        if (next + 4 > size) {
+            return next <= size;
+        }
+        // The last frame may be followed by a 128-byte ID3v1 tag
+        if (next == size - 128 && buffer.get(next) == 'T' && buffer.get(next + 1) == 'A' && buffer.get(next + 2) == 'G') {
+            return true;
+        }
+        return frameLength(buffer, next) > 0;
+    }
+
+    private static int skipId3v2(MappedByteBuffer buffer, int size) {
+        if (size < 10 || buffer.get(0) != 'I' || buffer.get(1) != 'D' || buffer.get(2) != '3') {
+            return 0;
+        }
+        int tagSize = (buffer.get(6) & 0x7F) << 21 | (buffer.get(7) & 0x7F) << 14
+                | (buffer.get(8) & 0x7F) << 7 | (buffer.get(9) & 0x7F);
+        boolean footer = (buffer.get(5) & 0x10) != 0;
+        return Math.min(size, 10 + tagSize + (footer ? 10 : 0));
+    }
+
+    /**
+     * Length in bytes of the frame starting at {@code position}, or -1 if there is no valid header there.
+     */
+    private static int frameLength(MappedByteBuffer buffer, int position) {
+        int b0 = buffer.get(position) & 0xFF;
+        int b1 = buffer.get(position + 1) & 0xFF;
+        int b2 = buffer.get(position + 2) & 0xFF;
+        if (b0 != 0xFF || (b1 & 0xE0) != 0xE0) {
+            return -1;
+        }
+        int versionBits = (b1 >> 3) & 0x3;
+        int layerBits = (b1 >> 1) & 0x3;
+        int bitrateIndex = b2 >> 4;
+        int sampleRateIndex = (b2 >> 2) & 0x3;
+        if (versionBits == 1 || layerBits == 0 || bitrateIndex == 0 || bitrateIndex == 15 || sampleRateIndex == 3) {
+            return -1;
+        }
+        int layer = 3 - layerBits; // 0 = I, 1 = II, 2 = III
+        int bitrate = BITRATES[versionBits == 3 ? 0 : 1][layer][bitrateIndex] * 1000;
+        int sampleRate = SAMPLE_RATES[versionBits][sampleRateIndex];
+        int padding = (b2 >> 1) & 0x1;
+        if (layer == 0) {
+            return (12 * bitrate / sampleRate + padding) * 4;
+        }
+        int coefficient = layer == 2 && versionBits != 3 ? 72 : 144;
+        return coefficient * bitrate / sampleRate + padding;
+    }
+
+    private static long frameDurationMicros(MappedByteBuffer buffer, int position) {
+        int b1 = buffer.get(position + 1) & 0xFF;
+        int b2 = buffer.get(position + 2) & 0xFF;
+        int versionBits = (b1 >> 3) & 0x3;
+        int layer = 3 - ((b1 >> 1) & 0x3);
+        int sampleRate = SAMPLE_RATES[versionBits][(b2 >> 2) & 0x3];
+        int samples = layer == 0 ? 384 : layer == 1 || versionBits == 3 ? 1152 : 576;
+        return samples * 1_000_000L / sampleRate;
+    }
+
+    /**
+     * Frame-aligned byte range {@code [start, end)} covering at least {@code durationMs} from {@code startMs},
+     * clamped to the audio data.
+     */
+    public long[] slice(long startMs, long durationMs) {
+        int first = (int) Math.min(Math.max(startMs, 0) / intervalMs, offsets.length - 1);
+        long endIndex = (Math.max(startMs, 0) + durationMs + intervalMs - 1) / intervalMs;
+        long end = endIndex < offsets.length ? offsets[(int) endIndex] : audioEnd;
+        return new long[]{offsets[first], end};
+    }
+
+    public int getIntervalMs() {
+        return intervalMs;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    /**
+     * Writes the index compactly: a header and one int delta per entry.
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(FORMAT_MAGIC);
+        out.writeInt(intervalMs);
+        out.writeLong(durationMs);
+        out.writeLong(audioEnd);
+        out.writeInt(offsets.length);
+        long previous = 0;
+        for (long offset : offsets) {
+            out.writeInt((int) (offset - previous));
+            previous = offset;
+        }
+    }
+
+    public static Mp3FrameIndex readFrom(DataInputStream in) throws IOException {
+        if (in.readInt() != FORMAT_MAGIC) {
+            throw new IOException("Not an MP3 frame index");
+        }
+        int intervalMs = in.readInt();
+        long durationMs = in.readLong();
+        long audioEnd = in.readLong();
+        long[] offsets = new long[in.readInt()];
+        long previous = 0;
+        for (int i = 0; i < offsets.length; i++) {
+            previous += in.readInt();
+            offsets[i] = previous;
+        }
+        return new Mp3FrameIndex(intervalMs, durationMs, audioEnd, offsets);
+    }
+}
@@ -0,0 +1,225 @@
+package com.beatchaser.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Indexable skip list of (score, user) entries ordered by score descending, then user id. Every link records how
+ * many entries it skips, so insert, remove, position of an entry and entry at a position are all O(log n) expected.
+ * Not thread-safe.
+ */
+public final class RankedSkipList {
+
+    private static final int MAX_LEVEL = 24;
+
+    private final Node head = new Node(Long.MAX_VALUE, 0, 0, MAX_LEVEL);
+    private int level = 1;
+    private int size;
+
+    public RankedSkipList() {
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            head.width[i] = 1;
+        }
+    }
+
+    /**
+     * Builds the list in O(n) from entries already in list order (score descending, then user id).
+     */
+    public static RankedSkipList fromSorted(long[] scores, UUID[] userIds) {
+        RankedSkipList list = new RankedSkipList();
+        Node[] last = new Node[MAX_LEVEL];
+        int[] lastPosition = new int[MAX_LEVEL];
+        Arrays.fill(last, list.head);
+        for (int n = 0; n < scores.length; n++) {
+            int position = n + 1;
+            int nodeLevel = randomLevel();
+            Node node = new Node(scores[n], userIds[n].getMostSignificantBits(), userIds[n].getLeastSignificantBits(), nodeLevel);
+            for (int i = 0; i < nodeLevel; i++) {
+                last[i].next[i] = node;
+                last[i].width[i] = position - lastPosition[i];
+                last[i] = node;
+                lastPosition[i] = position;
+            }
+            list.level = Math.max(list.level, nodeLevel);
+        }
+        list.size = scores.length;
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            // Links to the end span the rest of the list, as insert and remove maintain them
+            last[i].width[i] = list.size + 1 - lastPosition[i];
+        }
+        return list;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void insert(long score, UUID userId) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] position = new int[MAX_LEVEL];
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            position[i] = i == level - 1 ? 0 : position[i + 1];
+            while (node.next[i] != null && node.next[i].before(score, userId)) {
+                position[i] += node.width[i];
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                position[i] = 0;
+                update[i] = head;
+                head.width[i] = size + 1;
+            }
+            level = nodeLevel;
+        }
+        Node inserted = new Node(score, userId.getMostSignificantBits(), userId.getLeastSignificantBits(), nodeLevel);
+        int insertedAt = position[0] + 1;
+        for (int i = 0; i < nodeLevel; i++) {
+            inserted.next[i] = update[i].next[i];
+            update[i].next[i] = inserted;
+            // The old link is split in two around the new entry
+            inserted.width[i] = update[i].width[i] - (insertedAt - position[i]) + 1;
+            update[i].width[i] = insertedAt - position[i];
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].width[i]++;
+        }
+        size++;
+    }
+
+    public boolean remove(long score, UUID userId) {
+        Node[] update = new Node[MAX_LEVEL];
+        Node node = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && node.next[i].before(score, userId)) {
+                node = node.next[i];
+            }
+            update[i] = node;
+        }
+        Node target = node.next[0];
+        if (target == null || !target.is(score, userId)) {
+            return false;
+        }
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == target) {
+                update[i].width[i] += target.width[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else {
+                update[i].width[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * 0-based position of the entry, or -1 if it is not in the list.
+     */
+    public int indexOf(long score, UUID userId) {
+        Node node = head;
+        int position = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && node.next[i].before(score, userId)) {
+                position += node.width[i];
+                node = node.next[i];
+            }
+        }
+        Node candidate = node.next[0];
+        return candidate != null && candidate.is(score, userId) ? position : -1;
+    }
+
+    /**
+     * Up to {@code count} entries starting at 0-based position {@code from}.
+     */
+    public List<Entry> range(int from, int count) {
+        List<Entry> entries = new ArrayList<>(Math.max(0, Math.min(count, size - from)));
+        if (from < 0 || from >= size || count <= 0) {
+            return entries;
+        }
+        // Walk to position from (1-based target from + 1 counting the head as 0)
+        Node node = head;
+        int traversed = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (node.next[i] != null && traversed + node.width[i] <= from + 1) {
+                traversed += node.width[i];
+                node = node.next[i];
+            }
+        }
+        for (int i = 0; node != null && i < count; i++) {
+            entries.add(new Entry(from + i, node.score, new UUID(node.userIdHigh, node.userIdLow)));
+            node = node.next[0];
+        }
+        return entries;
+    }
+
+    /**
+     * Visits every entry in list order.
+     */
+    public void forEach(Visitor visitor) {
+        for (Node node = head.next[0]; node != null; node = node.next[0]) {
+            visitor.visit(node.score, node.userIdHigh, node.userIdLow);
+        }
+    }
+
+    private static int randomLevel() {
+        // p = 1/4: two random bits per level
+        int nodeLevel = 1;
+        long bits = ThreadLocalRandom.current().nextLong();
+        while ((bits & 3) == 0 && nodeLevel < MAX_LEVEL) {
+            nodeLevel++;
+            bits >>>= 2;
+        }
+        return nodeLevel;
+    }
+
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(long score, long userIdHigh, long userIdLow);
+    }
+
+    /**
+     * @param index 0-based position in the list
+     */
+    public record Entry(int index, long score, UUID userId) {
+    }
+
+    private static final class Node {
+        private final long score;
+        // The id is kept inline rather than as a UUID reference: one pointer less to chase per comparison
+        private final long userIdHigh;
+        private final long userIdLow;
+        private final Node[] next;
+        private final int[] width;
+
+        private Node(long score, long userIdHigh, long userIdLow, int level) {
+            this.score = score;
+            this.userIdHigh = userIdHigh;
+            this.userIdLow = userIdLow;
+            this.next = new Node[level];
+            this.width = new int[level];
+        }
+
+        /** Whether this entry sorts before (score, userId), using the same order as {@link UUID#compareTo}. */
+        private boolean before(long otherScore, UUID otherUserId) {
+            if (score != otherScore) {
+                return score > otherScore;
+            }
+            long high = otherUserId.getMostSignificantBits();
+            return userIdHigh != high ? userIdHigh < high : userIdLow < otherUserId.getLeastSignificantBits();
+        }
+
+        private boolean is(long otherScore, UUID otherUserId) {
+            return score == otherScore && userIdHigh == otherUserId.getMostSignificantBits()
+                    && userIdLow == otherUserId.getLeastSignificantBits();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.beatchaser.util;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Byte buffer meant to be kept per thread and reset between uses. Ignores {@code close()} because serializers close
+ * their target when they finish writing.
+ */
+public class ReusableByteArrayOutputStream extends ByteArrayOutputStream {
+
+    public ReusableByteArrayOutputStream(int size) {
+        super(size);
+    }
+
+    public int capacity() {
+        return buf.length;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,69 @@
+package com.beatchaser.util;
+
+import java.text.Normalizer;
+import java.util.regex.Pattern;
+
+/**
+ * Folds free text into a comparable form: lower case, no diacritics, letters and digits
+ * separated by single spaces. "Łódź - Żółć!" becomes "lodz zolc".
+ */
+public final class TextNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern BRACKETED = Pattern.compile("\\([^)]*\\)|\\[[^]]*]");
+    private static final Pattern FEATURING = Pattern.compile("\\s(feat|ft|featuring)\\b.*$");
+
+    private TextNormalizer() {
+    }
+
+    public static String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String decomposed = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        StringBuilder out = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = Character.toLowerCase(decomposed.charAt(i));
+            String replacement = foldSpecial(c);
+            if (replacement != null) {
+                if (pendingSpace && out.length() > 0) out.append(' ');
+                pendingSpace = false;
+                out.append(replacement);
+            } else if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && out.length() > 0) out.append(' ');
+                pendingSpace = false;
+                out.append(c);
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Folds a song title or artist into the form guesses are compared against:
+     * bracketed parts such as "(Remastered 2011)" and everything from "feat." on are dropped.
+     */
+    public static String normalizeAnswer(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = fold(BRACKETED.matcher(text).replaceAll(" "));
+        String stripped = FEATURING.matcher(folded).replaceFirst("");
+        return stripped.isEmpty() ? fold(text) : stripped;
+    }
+
+    // Letters that NFD does not decompose into base letter + mark
+    private static String foldSpecial(char c) {
+        return switch (c) {
+            case 'ł' -> "l";
+            case 'ø' -> "o";
+            case 'đ' -> "d";
+            case 'ß' -> "ss";
+            case 'æ' -> "ae";
+            case 'œ' -> "oe";
+            default -> null;
+        };
+    }
+}
@@ -1,3 +1,13 @@
+-- Indexes for keyset pagination and catalog filters (Hibernate does not create expression indexes)
+CREATE INDEX IF NOT EXISTS idx_songs_title_id ON songs (title, id);
+CREATE INDEX IF NOT EXISTS idx_songs_artist_lower ON songs (lower(artist), title, id);
+CREATE INDEX IF NOT EXISTS idx_songs_genre ON songs (lower(metadata->>'genre'), title, id);
+CREATE INDEX IF NOT EXISTS idx_songs_year ON songs (((metadata->>'year')::int), title, id);
+-- Bulk ingestion upserts by external id
+CREATE INDEX IF NOT EXISTS idx_songs_external_id ON songs (external_id);
+-- Leaderboard replay after a snapshot reads only recently finished games
+CREATE INDEX IF NOT EXISTS idx_games_finished_ended_at ON games (ended_at) WHERE status = 'FINISHED';
+
 -- Insert sample songs for testing
 INSERT INTO songs (id, title, artist, album, duration_seconds, external_id, audio_preview_url, created_at, metadata) VALUES
 (gen_random_uuid(), 'Bohemian Rhapsody', 'Queen', 'A Night at the Opera', 354, 'queen_bohemian_rhapsody', 'C:\Users\dkmak\Desktop\beat-chaser\music\queen.mp3', NOW(), '{"genre": "Rock", "year": 1975}'),
@@ -0,0 +1,72 @@
+package com.beatchaser.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClusterTopologyTest {
+
+    @Test
+    void singleNodeOwnsEverything() {
+        ClusterTopology topology = new ClusterTopology("local", "", "simple");
+
+        assertThat(topology.isClustered()).isFalse();
+        assertThat(topology.isEventFanOut()).isFalse();
+        assertThat(topology.isLocal(UUID.randomUUID())).isTrue();
+    }
+
+    @Test
+    void allNodesAgreeOnTheOwner() {
+        String nodes = "a=http://10.0.0.1:8080/,b=http://10.0.0.2:8080,c";
+        ClusterTopology a = new ClusterTopology("a", nodes, "simple");
+        ClusterTopology b = new ClusterTopology("b", nodes, "simple");
+        ClusterTopology c = new ClusterTopology("c", nodes, "simple");
+
+        for (int i = 0; i < 1000; i++) {
+            UUID gameId = UUID.randomUUID();
+            String owner = a.ownerOf(gameId);
+            assertThat(b.ownerOf(gameId)).isEqualTo(owner);
+            assertThat(c.ownerOf(gameId)).isEqualTo(owner);
+            assertThat(IntStream.of(a.isLocal(gameId) ? 1 : 0, b.isLocal(gameId) ? 1 : 0, c.isLocal(gameId) ? 1 : 0).sum())
+                    .isEqualTo(1);
+        }
+        assertThat(a.baseUrlOf("a")).isEqualTo("http://10.0.0.1:8080");
+        assertThat(a.baseUrlOf("c")).isEmpty();
+    }
+
+    @Test
+    void gamesSpreadOverNodesAndOnlyARemovedNodesGamesMove() {
+        ClusterTopology three = new ClusterTopology("a", "a,b,c", "simple");
+        ClusterTopology two = new ClusterTopology("a", "a,b", "simple");
+        Map<String, Integer> counts = new HashMap<>();
+
+        for (int i = 0; i < 30_000; i++) {
+            UUID gameId = UUID.randomUUID();
+            String owner = three.ownerOf(gameId);
+            counts.merge(owner, 1, Integer::sum);
+            if (!owner.equals("c")) {
+                assertThat(two.ownerOf(gameId)).isEqualTo(owner);
+            }
+        }
+        assertThat(counts).containsOnlyKeys("a", "b", "c");
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(9_000, 11_000));
+    }
+
+    @Test
+    void fanOutOnlyWithTheSimpleBrokerInACluster() {
+        assertThat(new ClusterTopology("a", "a,b", "simple").isEventFanOut()).isTrue();
+        assertThat(new ClusterTopology("a", "a,b", "relay").isEventFanOut()).isFalse();
+    }
+
+    @Test
+    void rejectsANodeMissingFromTheNodeList() {
+        assertThatThrownBy(() -> new ClusterTopology("z", "a,b", "simple"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
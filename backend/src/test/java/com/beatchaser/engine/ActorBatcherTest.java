@@ -0,0 +1,121 @@
+package com.beatchaser.engine;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActorBatcherTest {
+
+    private final GameActorExecutor executor = new GameActorExecutor(1, 1);
+    private final Map<String, Throwable> failures = new ConcurrentHashMap<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void batchesItemsThatArriveWithinTheWindow() throws Exception {
+        List<List<String>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch handled = new CountDownLatch(1);
+        try (ActorBatcher<String> batcher = new ActorBatcher<>("test-batcher", executor, 50, 100,
+                (gameId, batch) -> {
+                    batches.add(batch);
+                    handled.countDown();
+                }, failures::put)) {
+            UUID gameId = UUID.randomUUID();
+            batcher.offer(gameId, "a");
+            batcher.offer(gameId, "b");
+            batcher.offer(gameId, "c");
+
+            assertThat(handled.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(batches).containsExactly(List.of("a", "b", "c"));
+            assertThat(failures).isEmpty();
+        }
+    }
+
+    @Test
+    void rejectsItemsBeyondThePerGameLimit() {
+        try (ActorBatcher<String> batcher = new ActorBatcher<>("test-batcher", executor, 1000, 2,
+                (gameId, batch) -> { }, failures::put)) {
+            UUID gameId = UUID.randomUUID();
+
+            assertThat(batcher.offer(gameId, "a")).isTrue();
+            assertThat(batcher.offer(gameId, "b")).isTrue();
+            assertThat(batcher.offer(gameId, "c")).isFalse();
+        }
+    }
+
+    @Test
+    void failsItemsBackWhenTheMailboxStaysFull() throws Exception {
+        UUID gameId = UUID.randomUUID();
+        occupyShard(gameId);
+        try (ActorBatcher<String> batcher = new ActorBatcher<>("test-batcher", executor, 0, 100,
+                (id, batch) -> { }, failures::put)) {
+            batcher.offer(gameId, "a");
+            batcher.offer(gameId, "b");
+
+            waitFor(() -> failures.size() == 2);
+            assertThat(failures).containsOnlyKeys("a", "b");
+            assertThat(failures.values()).allSatisfy(e -> assertThat(e).isInstanceOf(RejectedExecutionException.class));
+        }
+    }
+
+    @Test
+    void failsItemsBackWhenTheHandlerThrows() throws Exception {
+        try (ActorBatcher<String> batcher = new ActorBatcher<>("test-batcher", executor, 0, 100,
+                (id, batch) -> {
+                    throw new IllegalStateException("boom");
+                }, failures::put)) {
+            batcher.offer(UUID.randomUUID(), "a");
+
+            waitFor(() -> failures.size() == 1);
+            assertThat(failures.get("a")).hasMessage("boom");
+        }
+    }
+
+    /**
+     * Blocks the only shard and fills its one-slot mailbox, so every further submission is rejected.
+     */
+    private void occupyShard(UUID gameId) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.submit(gameId, () -> {
+            started.countDown();
+            await(release);
+            return null;
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Object> queued = executor.submit(gameId, () -> null);
+        assertThat(queued).isNotDone();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
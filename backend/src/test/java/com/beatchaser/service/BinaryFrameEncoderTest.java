@@ -0,0 +1,120 @@
+package com.beatchaser.service;
+
+import com.beatchaser.dto.WebSocketMessage;
+import com.beatchaser.dto.guess.GuessResponseDTO;
+import com.beatchaser.dto.state.GameStateSnapshot;
+import com.beatchaser.dto.state.PlayerScore;
+import com.beatchaser.model.Game;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryFrameEncoderTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+    private final BinaryFrameEncoder binaryEncoder = new BinaryFrameEncoder(objectMapper);
+    private final BroadcastFrameEncoder jsonEncoder = new BroadcastFrameEncoder(objectMapper);
+
+    @Test
+    void writesVersionTypeIdTimestampAndCborPayload() throws IOException {
+        UUID userId = UUID.randomUUID();
+        WebSocketMessage<GuessResponseDTO> message = WebSocketMessage.<GuessResponseDTO>builder()
+                .type("guess")
+                .payload(GuessResponseDTO.builder().userId(userId).correct(true).pointsAwarded(100).score(300).build())
+                .build();
+
+        ByteArrayInputStream in = new ByteArrayInputStream(binaryEncoder.encode(message));
+
+        assertThat(in.read()).isEqualTo(BinaryFrameEncoder.FORMAT_VERSION);
+        assertThat(readVarint(in)).isEqualTo(BinaryFrameEncoder.EVENT_TYPES.indexOf("guess") + 1);
+        assertThat(readVarint(in)).isEqualTo(message.getTimestamp().toEpochMilli());
+        JsonNode payload = new CBORMapper().readTree(in);
+        assertThat(payload.get("userId").binaryValue()).hasSize(16);
+        assertThat(payload.get("pointsAwarded").intValue()).isEqualTo(100);
+        assertThat(payload.get("score").intValue()).isEqualTo(300);
+        assertThat(payload.get("correct").booleanValue()).isTrue();
+    }
+
+    @Test
+    void relayedJsonEventsWriteUuidsAsBytesToo() throws IOException {
+        UUID userId = UUID.randomUUID();
+        WebSocketMessage<GuessResponseDTO> message = WebSocketMessage.<GuessResponseDTO>builder()
+                .type("guess")
+                .payload(GuessResponseDTO.builder().userId(userId).message(UUID.randomUUID().toString().toUpperCase()).build())
+                .build();
+        String json = new String(jsonEncoder.encode(message), StandardCharsets.UTF_8);
+
+        ByteArrayInputStream in = new ByteArrayInputStream(binaryEncoder.encodeJson(json));
+
+        assertThat(in.read()).isEqualTo(BinaryFrameEncoder.FORMAT_VERSION);
+        assertThat(readVarint(in)).isEqualTo(BinaryFrameEncoder.EVENT_TYPES.indexOf("guess") + 1);
+        assertThat(readVarint(in)).isEqualTo(message.getTimestamp().toEpochMilli());
+        JsonNode payload = new CBORMapper().readTree(in);
+        ByteBuffer uuid = ByteBuffer.wrap(payload.get("userId").binaryValue());
+        assertThat(new UUID(uuid.getLong(), uuid.getLong())).isEqualTo(userId);
+        assertThat(payload.get("message").isTextual()).isTrue();
+    }
+
+    @Test
+    void spellsOutUnregisteredTypes() throws IOException {
+        byte[] frame = binaryEncoder.encode(WebSocketMessage.builder().type("custom").build());
+
+        ByteArrayInputStream in = new ByteArrayInputStream(frame);
+        assertThat(in.read()).isEqualTo(BinaryFrameEncoder.FORMAT_VERSION);
+        assertThat(readVarint(in)).isZero();
+        assertThat(new String(in.readNBytes((int) readVarint(in)))).isEqualTo("custom");
+    }
+
+    @Test
+    void binaryFramesAreSmallerThanJson() {
+        assertSmallerThanJson(WebSocketMessage.builder()
+                .type("guess")
+                .payload(GuessResponseDTO.builder().userId(UUID.randomUUID()).correct(true).pointsAwarded(100)
+                        .score(1200).currentRound(3).totalRounds(10).message("Correct!").build())
+                .build());
+        assertSmallerThanJson(WebSocketMessage.builder()
+                .type("state-snapshot")
+                .payload(snapshot(50))
+                .build());
+    }
+
+    private void assertSmallerThanJson(WebSocketMessage<?> message) {
+        assertThat(binaryEncoder.encode(message).length).isLessThan(jsonEncoder.encode(message).length);
+    }
+
+    private static GameStateSnapshot snapshot(int players) {
+        return GameStateSnapshot.builder()
+                .gameId(UUID.randomUUID())
+                .version(1)
+                .status(Game.GameStatus.RUNNING)
+                .currentRound(1)
+                .totalRounds(10)
+                .players(IntStream.range(0, players)
+                        .mapToObj(i -> new PlayerScore(UUID.randomUUID(), i * 100))
+                        .toList())
+                .build();
+    }
+
+    private static long readVarint(ByteArrayInputStream in) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.read();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+}
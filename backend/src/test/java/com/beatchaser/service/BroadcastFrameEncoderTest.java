@@ -0,0 +1,79 @@
+package com.beatchaser.service;
+
+import com.beatchaser.dto.WebSocketMessage;
+import com.beatchaser.dto.guess.GuessResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BroadcastFrameEncoderTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+    private final BroadcastFrameEncoder encoder = new BroadcastFrameEncoder(objectMapper);
+
+    @Test
+    void encodesTheSameJsonAsTheMessageConverter() throws Exception {
+        WebSocketMessage<?> message = guessBatch(5);
+        MappingJackson2MessageConverter converter = converter();
+
+        byte[] expected = (byte[]) converter.toMessage(message, null).getPayload();
+
+        assertThat(objectMapper.readTree(encoder.encode(message))).isEqualTo(objectMapper.readTree(expected));
+    }
+
+    /**
+     * The encoder serializes into a per-thread buffer that is reused across events, so each returned frame must be
+     * an exact copy that later, smaller or oversized events do not overwrite.
+     */
+    @Test
+    void framesAreIndependentOfTheReusedBuffer() throws Exception {
+        MappingJackson2MessageConverter converter = converter();
+        WebSocketMessage<?> large = guessBatch(20);
+        WebSocketMessage<?> small = guessBatch(1);
+        WebSocketMessage<?> oversized = guessBatch(2_000);
+
+        byte[] largeFrame = encoder.encode(large);
+        byte[] copy = largeFrame.clone();
+        byte[] smallFrame = encoder.encode(small);
+        byte[] oversizedFrame = encoder.encode(oversized);
+        byte[] afterOversized = encoder.encode(small);
+
+        assertThat(largeFrame).isEqualTo(copy);
+        assertThat(objectMapper.readTree(largeFrame)).isEqualTo(objectMapper.readTree((byte[]) converter.toMessage(large, null).getPayload()));
+        assertThat(objectMapper.readTree(smallFrame)).isEqualTo(objectMapper.readTree((byte[]) converter.toMessage(small, null).getPayload()));
+        assertThat(objectMapper.readTree(oversizedFrame).path("payload").size()).isEqualTo(2_000);
+        assertThat(afterOversized).isEqualTo(smallFrame);
+    }
+
+    private MappingJackson2MessageConverter converter() {
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        return converter;
+    }
+
+    static WebSocketMessage<List<GuessResponseDTO>> guessBatch(int size) {
+        List<GuessResponseDTO> guesses = IntStream.range(0, size)
+                .mapToObj(i -> GuessResponseDTO.builder()
+                        .userId(UUID.randomUUID())
+                        .correct(i % 3 == 0)
+                        .pointsAwarded(i % 3 == 0 ? 100 : 0)
+                        .score(i * 50)
+                        .currentRound(2)
+                        .totalRounds(10)
+                        .message(i % 3 == 0 ? "Correct!" : "Wrong guess")
+                        .build())
+                .toList();
+        return WebSocketMessage.<List<GuessResponseDTO>>builder()
+                .type("guess-batch")
+                .payload(guesses)
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.beatchaser.service;
+
+import com.beatchaser.cluster.ClusterTopology;
+import com.beatchaser.dto.round.ClipPrefetch;
+import com.beatchaser.engine.LiveGame;
+import com.beatchaser.engine.LiveRound;
+import com.beatchaser.provider.ClipTokenSigner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.MediaType;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ClipPrefetchServiceTest {
+
+    private final RoundClipService roundClipService = mock(RoundClipService.class);
+    private final WebSocketService webSocketService = mock(WebSocketService.class);
+    private final ClipTokenSigner signer = new ClipTokenSigner(new ClusterTopology("local", "", "simple"), "secret", 120_000);
+    private final ClipPrefetchService service = new ClipPrefetchService(roundClipService, mock(HotClipCache.class),
+            signer, webSocketService, 1, 10);
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void roundStartReusesTheAnnouncedUrl() throws InterruptedException {
+        UUID gameId = UUID.randomUUID();
+        var audio = new SongAudioService.AudioFile(Path.of("song.mp3"), 1000, 0, "\"song\"", MediaType.parseMediaType("audio/mpeg"));
+        when(roundClipService.find(eq(gameId), any(Integer.class)))
+                .thenReturn(Optional.of(new RoundClipService.Clip(audio, 0, 100, "\"clip\"")));
+        LiveGame game = new LiveGame(gameId, List.of(
+                new LiveRound(UUID.randomUUID(), 1, UUID.randomUUID(), null, 0),
+                new LiveRound(UUID.randomUUID(), 2, UUID.randomUUID(), null, 0)), List.of(UUID.randomUUID()));
+
+        service.roundOpened(game);
+        var prefetch = ArgumentCaptor.forClass(ClipPrefetch.class);
+        verify(webSocketService, timeout(2000)).sendClipPrefetchEvent(eq(gameId), prefetch.capture());
+        // Tokens carry their expiry in seconds: a token signed now would differ from the announced one
+        Thread.sleep(1100);
+
+        assertThat(prefetch.getValue().getRoundNumber()).isEqualTo(2);
+        assertThat(service.clipUrl(gameId, 2)).isEqualTo(prefetch.getValue().getUrl());
+        assertThat(service.clipUrl(gameId, 1)).isNotEqualTo(prefetch.getValue().getUrl());
+
+        service.gameEnded(gameId);
+        assertThat(service.clipUrl(gameId, 2)).isNotEqualTo(prefetch.getValue().getUrl());
+    }
+}
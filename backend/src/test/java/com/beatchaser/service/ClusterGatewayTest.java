@@ -0,0 +1,114 @@
+package com.beatchaser.service;
+
+import com.beatchaser.cluster.ClusterTopology;
+import com.beatchaser.cluster.LocalClusterBus;
+import com.beatchaser.dto.guess.GuessRequestDTO;
+import com.beatchaser.dto.state.GameStateSnapshot;
+import com.beatchaser.dto.state.PlayerScore;
+import com.beatchaser.exception.GameSessionNotFoundException;
+import com.beatchaser.model.Game;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Two nodes joined by an in-process bus: node "a" receives client traffic for a game owned by node "b".
+ */
+class ClusterGatewayTest {
+
+    private static final String NODES = "a,b";
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+    private final ClusterTopology topologyA = new ClusterTopology("a", NODES, "simple");
+    private final ClusterTopology topologyB = new ClusterTopology("b", NODES, "simple");
+    private final GameStateEventService stateOnA = mock(GameStateEventService.class);
+    private final GameStateEventService stateOnB = mock(GameStateEventService.class);
+    private final WebSocketService webSocketOnA = mock(WebSocketService.class);
+    private final GuessService guessOnB = mock(GuessService.class);
+
+    private LocalClusterBus busA;
+    private LocalClusterBus busB;
+    private ClusterGateway gatewayA;
+    private UUID gameId;
+
+    @BeforeEach
+    void setUp() {
+        String channel = "test-" + UUID.randomUUID();
+        busA = new LocalClusterBus(channel);
+        busB = new LocalClusterBus(channel);
+        gatewayA = new ClusterGateway(topologyA, busA, webSocketOnA, mock(GuessService.class), stateOnA, objectMapper, 2000);
+        ClusterGateway gatewayB = new ClusterGateway(topologyB, busB, mock(WebSocketService.class), guessOnB, stateOnB,
+                objectMapper, 2000);
+        gatewayA.subscribe();
+        gatewayB.subscribe();
+        do {
+            gameId = UUID.randomUUID();
+        } while (!topologyA.ownerOf(gameId).equals("b"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        busA.close();
+        busB.close();
+    }
+
+    @Test
+    void snapshotIsServedByTheOwnerNode() throws Exception {
+        UUID player = UUID.randomUUID();
+        when(stateOnB.snapshot(gameId)).thenReturn(CompletableFuture.completedFuture(GameStateSnapshot.builder()
+                .gameId(gameId)
+                .version(7)
+                .status(Game.GameStatus.RUNNING)
+                .currentRound(2)
+                .totalRounds(5)
+                .players(List.of(new PlayerScore(player, 300)))
+                .build()));
+
+        GameStateSnapshot snapshot = gatewayA.requestSnapshot(gameId).get(5, TimeUnit.SECONDS);
+
+        assertThat(snapshot.getVersion()).isEqualTo(7);
+        assertThat(snapshot.getCurrentRound()).isEqualTo(2);
+        assertThat(snapshot.getPlayers()).extracting(PlayerScore::getUserId).containsExactly(player);
+        verifyNoInteractions(stateOnA);
+    }
+
+    @Test
+    void ownerFailureFailsTheRequestInsteadOfFallingBack() {
+        when(stateOnB.snapshot(gameId)).thenReturn(CompletableFuture.failedFuture(new GameSessionNotFoundException("Game not found")));
+
+        assertThatThrownBy(() -> gatewayA.requestSnapshot(gameId).get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("Game not found");
+        verifyNoInteractions(stateOnA);
+    }
+
+    @Test
+    void failedForwardedGuessIsReportedToTheSenderOnTheirNode() {
+        when(guessOnB.submitGuess(any())).thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("Round is closed")));
+        GuessRequestDTO guess = new GuessRequestDTO();
+        guess.setGameId(gameId);
+        guess.setGuessText("queen");
+
+        gatewayA.forwardGuess(guess, "alice");
+
+        verify(webSocketOnA, timeout(5000)).sendError("alice", "Round is closed");
+    }
+}
@@ -0,0 +1,85 @@
+package com.beatchaser.service;
+
+import com.beatchaser.model.Game;
+import com.beatchaser.repository.GamePlayerRepository;
+import com.beatchaser.repository.GameRepository;
+import com.beatchaser.repository.RoundRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GameStatePersisterTest {
+
+    private final GamePlayerRepository gamePlayerRepository = mock(GamePlayerRepository.class);
+    private final GameRepository gameRepository = mock(GameRepository.class);
+    private final RoundRepository roundRepository = mock(RoundRepository.class);
+    private final GameStatePersister persister = new GameStatePersister(mock(GuessBatchWriter.class), roundRepository,
+            gameRepository, gamePlayerRepository, mock(PlatformTransactionManager.class), 3, 1);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        persister.shutdown();
+    }
+
+    @Test
+    void queuedScoresForOnePlayerCollapseToTheLatest() {
+        UUID gameId = UUID.randomUUID();
+        UUID player = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        for (int score = 10; score <= 100; score += 10) {
+            persister.saveScore(gameId, player, score);
+        }
+        persister.saveScore(gameId, other, 5);
+        assertThat(persister.getPending()).isEqualTo(2);
+
+        persister.start();
+
+        verify(gamePlayerRepository, timeout(2000)).updateScore(gameId, player, 100);
+        verify(gamePlayerRepository, timeout(2000)).updateScore(gameId, other, 5);
+        verify(gamePlayerRepository, times(2)).updateScore(any(), any(), anyInt());
+        assertThat(persister.getCoalesced()).isEqualTo(9);
+    }
+
+    @Test
+    void gameEndIsRetriedUntilItIsWritten() {
+        UUID gameId = UUID.randomUUID();
+        LocalDateTime endedAt = LocalDateTime.now();
+        when(gameRepository.markEnded(gameId, Game.GameStatus.FINISHED, endedAt))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(1);
+        persister.start();
+
+        persister.saveGameEnd(gameId, endedAt);
+
+        verify(gameRepository, timeout(2000).times(2)).markEnded(gameId, Game.GameStatus.FINISHED, endedAt);
+        assertThat(persister.getFailed()).isZero();
+    }
+
+    @Test
+    void roundStartAndEndAreSeparateRows() {
+        UUID roundId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+        persister.saveRoundStart(roundId, now);
+        persister.saveRoundEnd(roundId, true, now.plusSeconds(30));
+        persister.start();
+
+        verify(roundRepository, timeout(2000)).markStarted(roundId, now);
+        verify(roundRepository, timeout(2000)).markEnded(roundId, now.plusSeconds(30), true);
+        verify(gameRepository, never()).markEnded(any(), eq(Game.GameStatus.FINISHED), any());
+    }
+}
@@ -0,0 +1,61 @@
+package com.beatchaser.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class GuessBatchWriterTest {
+
+    @Test
+    void fullQueuesShedInsteadOfBlockingTheProducer() throws InterruptedException {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        CountDownLatch databaseStalled = new CountDownLatch(1);
+        AtomicInteger inserted = new AtomicInteger();
+        doAnswer(invocation -> {
+            databaseStalled.await();
+            inserted.addAndGet(invocation.<Collection<?>>getArgument(1).size());
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        GuessBatchWriter writer = new GuessBatchWriter(jdbcTemplate, 2, 10, 1, 2, 1, 1);
+        writer.start();
+
+        long started = System.nanoTime();
+        for (int i = 0; i < 50; i++) {
+            writer.enqueue(guess());
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertThat(elapsedMs).isLessThan(500);
+        assertThat(writer.getShed()).isGreaterThan(0);
+        assertThat(writer.getSpilled()).isGreaterThan(0);
+
+        databaseStalled.countDown();
+        writer.shutdown();
+        assertThat(inserted.get() + writer.getShed()).isEqualTo(50);
+        assertThat(writer.getWritten()).isEqualTo(inserted.get());
+    }
+
+    private static GuessBatchWriter.PendingGuess guess() {
+        return GuessBatchWriter.PendingGuess.builder()
+                .roundId(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .guessText("guess")
+                .guessedAt(LocalDateTime.now())
+                .pointsAwarded(0)
+                .build();
+    }
+}
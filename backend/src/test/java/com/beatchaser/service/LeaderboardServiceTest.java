@@ -0,0 +1,145 @@
+package com.beatchaser.service;
+
+import com.beatchaser.cluster.ClusterTopology;
+import com.beatchaser.cluster.LocalClusterBus;
+import com.beatchaser.dto.LeaderboardEntryDTO;
+import com.beatchaser.model.User;
+import com.beatchaser.repository.LeaderboardRepository;
+import com.beatchaser.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeaderboardServiceTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+    private final String channel = "test-" + UUID.randomUUID();
+    private final LocalClusterBus busA = new LocalClusterBus(channel);
+    private final LocalClusterBus busB = new LocalClusterBus(channel);
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void tearDown() {
+        busA.close();
+        busB.close();
+    }
+
+    @Test
+    void gameFinishedOnOneNodeIsRankedOnEveryNode() throws InterruptedException {
+        LeaderboardService onA = start("a", "a,b", busA);
+        LeaderboardService onB = start("b", "a,b", busB);
+        UUID winner = UUID.randomUUID();
+        UUID runnerUp = UUID.randomUUID();
+
+        onA.gameFinished(UUID.randomUUID(), Map.of(winner, 300, runnerUp, 100), LocalDateTime.now());
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (onB.top(10).size() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(onB.top(10)).extracting(LeaderboardEntryDTO::getUserId).containsExactly(winner, runnerUp);
+        assertThat(onA.top(10)).extracting(LeaderboardEntryDTO::getScore).containsExactly(300L, 100L);
+    }
+
+    @Test
+    void clusteredNodesDoNotSnapshot() {
+        LeaderboardService clustered = start("a", "a,b", busA);
+        clustered.gameFinished(UUID.randomUUID(), Map.of(UUID.randomUUID(), 50), LocalDateTime.now());
+
+        clustered.snapshot();
+
+        assertThat(dir.resolve("a.snapshot")).doesNotExist();
+    }
+
+    @Test
+    void singleNodeRestoresItsSnapshot() {
+        UUID player = UUID.randomUUID();
+        LeaderboardService before = start("local", "", busA);
+        before.gameFinished(UUID.randomUUID(), Map.of(player, 70), LocalDateTime.now());
+        before.snapshot();
+
+        LeaderboardService after = start("local", "", busB);
+
+        assertThat(after.rankOf(player)).get().extracting(LeaderboardEntryDTO::getScore).isEqualTo(70L);
+    }
+
+    @Test
+    void replayAfterRestartPicksUpLateGamesAndSkipsAppliedOnes() {
+        UUID player = UUID.randomUUID();
+        UUID applied = UUID.randomUUID();
+        LocalDateTime endedAt = LocalDateTime.now();
+        LeaderboardService before = start("local", "", busA);
+        before.gameFinished(applied, Map.of(player, 70), endedAt);
+        before.snapshot();
+        // The applied game is in the database now, next to one that ended earlier but was written after the snapshot
+        LeaderboardRepository repository = mock(LeaderboardRepository.class);
+        doAnswer(invocation -> {
+            LeaderboardRepository.GameScoreConsumer consumer = invocation.getArgument(1);
+            consumer.accept(applied, endedAt, player, 70);
+            consumer.accept(UUID.randomUUID(), endedAt.minusSeconds(5), player, 30);
+            return null;
+        }).when(repository).forEachGameScore(any(), any());
+
+        LeaderboardService after = start("local", "", busB, repository, mock(UserRepository.class));
+
+        assertThat(after.rankOf(player)).get().extracting(LeaderboardEntryDTO::getScore).isEqualTo(100L);
+    }
+
+    @Test
+    void gameAppliedTwiceCountsOnce() {
+        UUID player = UUID.randomUUID();
+        UUID gameId = UUID.randomUUID();
+        LeaderboardService service = start("local", "", busA);
+
+        service.gameFinished(gameId, Map.of(player, 40), LocalDateTime.now());
+        service.gameFinished(gameId, Map.of(player, 40), LocalDateTime.now());
+
+        assertThat(service.rankOf(player)).get().extracting(LeaderboardEntryDTO::getScore).isEqualTo(40L);
+    }
+
+    @Test
+    void usernamesAreLoadedOnce() {
+        UUID player = UUID.randomUUID();
+        UserRepository users = mock(UserRepository.class);
+        when(users.findAllById(any())).thenReturn(List.of(User.builder().id(player).username("dj").build()));
+        LeaderboardService service = start("local", "", busA, mock(LeaderboardRepository.class), users);
+        service.gameFinished(UUID.randomUUID(), Map.of(player, 10), LocalDateTime.now());
+
+        service.top(10);
+        assertThat(service.top(10)).extracting(LeaderboardEntryDTO::getUsername).containsExactly("dj");
+
+        verify(users, times(1)).findAllById(any());
+    }
+
+    private LeaderboardService start(String nodeId, String nodes, LocalClusterBus bus) {
+        return start(nodeId, nodes, bus, mock(LeaderboardRepository.class), mock(UserRepository.class));
+    }
+
+    private LeaderboardService start(String nodeId, String nodes, LocalClusterBus bus,
+                                     LeaderboardRepository repository, UserRepository users) {
+        var service = new LeaderboardService(repository, users,
+                new ClusterTopology(nodeId, nodes, "simple"), bus, objectMapper,
+                dir.resolve(nodeId + ".snapshot").toString(), 60_000, 100);
+        service.afterSingletonsInstantiated();
+        return service;
+    }
+}
@@ -0,0 +1,60 @@
+package com.beatchaser.service;
+
+import com.beatchaser.engine.GameActorExecutor;
+import com.beatchaser.engine.GameStateEngine;
+import com.beatchaser.engine.LiveGame;
+import com.beatchaser.engine.LiveRound;
+import com.beatchaser.util.HashedTimingWheel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RoundProgressionServiceTest {
+
+    private final GameStateEngine gameStateEngine = mock(GameStateEngine.class);
+    private final GameActorExecutor gameActorExecutor = mock(GameActorExecutor.class);
+    private final HashedTimingWheel wheel = new HashedTimingWheel("test-round-timer", 5, TimeUnit.MILLISECONDS, 8);
+    private final RoundProgressionService service = new RoundProgressionService(gameStateEngine, gameActorExecutor,
+            mock(GameStatePersister.class), mock(WebSocketService.class), mock(GameStateEventService.class), wheel,
+            mock(ClipPrefetchService.class), mock(LeaderboardService.class));
+
+    @AfterEach
+    void tearDown() {
+        wheel.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void expiryRejectedByAFullMailboxIsRetried() {
+        UUID gameId = UUID.randomUUID();
+        LiveRound round = new LiveRound(UUID.randomUUID(), 1, UUID.randomUUID(), null, 0);
+        round.setStartedAt(LocalDateTime.now());
+        round.setDeadlineEpochMs(System.currentTimeMillis());
+        LiveGame game = new LiveGame(gameId, List.of(round), List.of(UUID.randomUUID()));
+        when(gameStateEngine.expireRound(gameId, 1)).thenReturn(Optional.empty());
+        doThrow(new RejectedExecutionException("mailbox full"))
+                .doAnswer(invocation -> CompletableFuture.completedFuture(invocation.<Supplier<Object>>getArgument(1).get()))
+                .when(gameActorExecutor).submit(eq(gameId), any(Supplier.class));
+
+        service.openCurrentRound(game);
+
+        verify(gameStateEngine, timeout(2000)).expireRound(gameId, 1);
+        verify(gameActorExecutor, timeout(2000).times(2)).submit(eq(gameId), any(Supplier.class));
+    }
+}
@@ -0,0 +1,77 @@
+package com.beatchaser.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedEditDistanceTest {
+
+    @Test
+    void knownDistances() {
+        assertThat(BoundedEditDistance.distance("kitten", "sitting".toCharArray(), 5)).isEqualTo(3);
+        assertThat(BoundedEditDistance.distance("flaw", "lawn".toCharArray(), 5)).isEqualTo(2);
+        assertThat(BoundedEditDistance.distance("same", "same".toCharArray(), 0)).isZero();
+        assertThat(BoundedEditDistance.distance("", "abc".toCharArray(), 3)).isEqualTo(3);
+        assertThat(BoundedEditDistance.distance("abc", new char[0], 3)).isEqualTo(3);
+    }
+
+    @Test
+    void distancesAboveTheBoundAreReportedAsBoundPlusOne() {
+        assertThat(BoundedEditDistance.distance("kitten", "sitting".toCharArray(), 2)).isEqualTo(3);
+        assertThat(BoundedEditDistance.distance("abcdef", "uvwxyz".toCharArray(), 2)).isEqualTo(3);
+        assertThat(BoundedEditDistance.distance("a", "abcd".toCharArray(), 1)).isEqualTo(2);
+        assertThat(BoundedEditDistance.within("kitten", "sitting".toCharArray(), 3)).isTrue();
+        assertThat(BoundedEditDistance.within("kitten", "sitting".toCharArray(), 2)).isFalse();
+    }
+
+    @Test
+    void matchesFullLevenshteinOnRandomInput() {
+        Random random = new Random(11);
+        for (int i = 0; i < 5000; i++) {
+            // A small alphabet keeps distances low enough to land on both sides of the bound
+            String a = randomText(random, random.nextInt(12));
+            String b = randomText(random, random.nextInt(12));
+            int max = random.nextInt(5);
+            int expected = Math.min(levenshtein(a, b), max + 1);
+            assertThat(BoundedEditDistance.distance(a, b.toCharArray(), max))
+                    .as("distance(%s, %s, %d)", a, b, max)
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void handlesTextLongerThanTheReusedRowBuffers() {
+        Random random = new Random(3);
+        String a = randomText(random, 200);
+        String b = new StringBuilder(a).deleteCharAt(100).insert(10, 'z').toString();
+        assertThat(BoundedEditDistance.distance(a, b.toCharArray(), 3)).isEqualTo(levenshtein(a, b));
+        assertThat(BoundedEditDistance.distance("short", "shirt".toCharArray(), 3)).isEqualTo(1);
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('a' + random.nextInt(3)));
+        }
+        return text.toString();
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
@@ -0,0 +1,87 @@
+package com.beatchaser.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HashedTimingWheelTest {
+
+    private static final long TICK_MS = 5;
+
+    // 8 buckets of 5 ms: one revolution is 40 ms
+    private final HashedTimingWheel wheel = new HashedTimingWheel("test-wheel", TICK_MS, TimeUnit.MILLISECONDS, 8);
+
+    @AfterEach
+    void tearDown() {
+        wheel.close();
+    }
+
+    @Test
+    void firesNoEarlierThanItsDelay() throws InterruptedException {
+        assertFiresAfter(30);
+    }
+
+    @Test
+    void delaysLongerThanOneRevolutionWaitForTheirRound() throws InterruptedException {
+        assertFiresAfter(130);
+    }
+
+    @Test
+    void zeroDelayFiresOnTheNextTick() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        wheel.schedule(fired::countDown, 0, TimeUnit.MILLISECONDS);
+        assertThat(fired.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void cancelledTimerNeverRuns() throws InterruptedException {
+        AtomicBoolean ran = new AtomicBoolean();
+        CountDownLatch later = new CountDownLatch(1);
+        var timeout = wheel.schedule(() -> ran.set(true), 20, TimeUnit.MILLISECONDS);
+        wheel.schedule(later::countDown, 60, TimeUnit.MILLISECONDS);
+
+        timeout.cancel();
+
+        assertThat(timeout.isCancelled()).isTrue();
+        assertThat(later.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(ran).isFalse();
+    }
+
+    @Test
+    void failingTaskDoesNotStopTheWheel() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        wheel.schedule(() -> {
+            throw new IllegalStateException("boom");
+        }, 10, TimeUnit.MILLISECONDS);
+        wheel.schedule(fired::countDown, 30, TimeUnit.MILLISECONDS);
+        assertThat(fired.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void rejectsTimersAfterClose() {
+        wheel.close();
+        assertThatThrownBy(() -> wheel.schedule(() -> { }, 10, TimeUnit.MILLISECONDS))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private void assertFiresAfter(long delayMs) throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        AtomicLong firedAt = new AtomicLong();
+        long scheduledAt = System.nanoTime();
+        wheel.schedule(() -> {
+            firedAt.set(System.nanoTime());
+            fired.countDown();
+        }, delayMs, TimeUnit.MILLISECONDS);
+
+        assertThat(fired.await(2, TimeUnit.SECONDS)).isTrue();
+        // Deadlines are rounded down to a tick boundary
+        assertThat(TimeUnit.NANOSECONDS.toMillis(firedAt.get() - scheduledAt)).isGreaterThanOrEqualTo(delayMs - TICK_MS);
+    }
+}
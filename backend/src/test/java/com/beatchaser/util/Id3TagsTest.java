@@ -0,0 +1,169 @@
+package com.beatchaser.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Id3TagsTest {
+
+    private static final byte[] AUDIO = new byte[2048];
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readsId3v23TextFramesInAnyEncoding() throws IOException {
+        ByteArrayOutputStream frames = new ByteArrayOutputStream();
+        frames.write(frameV23("TIT2", 0, "Smells Like Teen Spirit", StandardCharsets.ISO_8859_1));
+        frames.write(frameV23("TPE1", 1, "Nirvana", StandardCharsets.UTF_16));
+        frames.write(frameV23("TALB", 3, "Nevermind – Deluxe", StandardCharsets.UTF_8));
+        frames.write(frameV23("TCON", 0, "(6)", StandardCharsets.ISO_8859_1));
+        frames.write(frameV23("TYER", 0, "1991", StandardCharsets.ISO_8859_1));
+
+        var tags = Id3Tags.read(write(tag(3, frames.toByteArray(), 64), null));
+
+        assertThat(tags).isEqualTo(new Id3Tags.Tags("Smells Like Teen Spirit", "Nirvana", "Nevermind – Deluxe", "Grunge", 1991));
+    }
+
+    @Test
+    void readsId3v24SyncsafeFrameSizesAndFirstOfMultipleValues() throws IOException {
+        ByteArrayOutputStream frames = new ByteArrayOutputStream();
+        // Longer than 127 bytes, so a syncsafe size differs from a plain one
+        String title = "A".repeat(200);
+        frames.write(frameV24("TIT2", 3, title));
+        frames.write(frameV24("TPE1", 3, "Artist One\0Artist Two"));
+        frames.write(frameV24("TDRC", 3, "2004-05-06"));
+        frames.write(frameV24("TCON", 3, "(17)Indie Rock"));
+
+        var tags = Id3Tags.read(write(tag(4, frames.toByteArray(), 0), null));
+
+        assertThat(tags.title()).isEqualTo(title);
+        assertThat(tags.artist()).isEqualTo("Artist One");
+        assertThat(tags.year()).isEqualTo(2004);
+        assertThat(tags.genre()).isEqualTo("Indie Rock");
+    }
+
+    @Test
+    void readsId3v22ThreeLetterFrames() throws IOException {
+        ByteArrayOutputStream frames = new ByteArrayOutputStream();
+        frames.write(frameV22("TT2", "Title"));
+        frames.write(frameV22("TP1", "Artist"));
+        frames.write(frameV22("TCO", "13"));
+
+        var tags = Id3Tags.read(write(tag(2, frames.toByteArray(), 16), null));
+
+        assertThat(tags.title()).isEqualTo("Title");
+        assertThat(tags.artist()).isEqualTo("Artist");
+        assertThat(tags.genre()).isEqualTo("Pop");
+    }
+
+    @Test
+    void fillsMissingFieldsFromId3v1() throws IOException {
+        byte[] v2 = tag(3, frameV23("TIT2", 0, "From V2", StandardCharsets.ISO_8859_1), 0);
+
+        var tags = Id3Tags.read(write(v2, v1("From V1", "V1 Artist", "V1 Album", "1975", 17)));
+
+        assertThat(tags).isEqualTo(new Id3Tags.Tags("From V2", "V1 Artist", "V1 Album", "Rock", 1975));
+    }
+
+    @Test
+    void untaggedFileHasNoTags() throws IOException {
+        assertThat(Id3Tags.read(write(null, null))).isEqualTo(new Id3Tags.Tags(null, null, null, null, null));
+    }
+
+    private Path write(byte[] v2, byte[] v1) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (v2 != null) {
+            out.write(v2);
+        }
+        out.write(AUDIO);
+        if (v1 != null) {
+            out.write(v1);
+        }
+        return Files.write(dir.resolve("song.mp3"), out.toByteArray());
+    }
+
+    private static byte[] tag(int version, byte[] frames, int padding) {
+        int size = frames.length + padding;
+        byte[] tag = new byte[10 + size];
+        tag[0] = 'I';
+        tag[1] = 'D';
+        tag[2] = '3';
+        tag[3] = (byte) version;
+        writeSyncsafe(tag, 6, size);
+        System.arraycopy(frames, 0, tag, 10, frames.length);
+        return tag;
+    }
+
+    private static byte[] frameV23(String id, int encoding, String value, Charset charset) {
+        byte[] data = data(encoding, value.getBytes(charset));
+        byte[] frame = new byte[10 + data.length];
+        System.arraycopy(id.getBytes(StandardCharsets.ISO_8859_1), 0, frame, 0, 4);
+        frame[4] = (byte) (data.length >>> 24);
+        frame[5] = (byte) (data.length >>> 16);
+        frame[6] = (byte) (data.length >>> 8);
+        frame[7] = (byte) data.length;
+        System.arraycopy(data, 0, frame, 10, data.length);
+        return frame;
+    }
+
+    private static byte[] frameV24(String id, int encoding, String value) {
+        byte[] data = data(encoding, value.getBytes(StandardCharsets.UTF_8));
+        byte[] frame = new byte[10 + data.length];
+        System.arraycopy(id.getBytes(StandardCharsets.ISO_8859_1), 0, frame, 0, 4);
+        writeSyncsafe(frame, 4, data.length);
+        System.arraycopy(data, 0, frame, 10, data.length);
+        return frame;
+    }
+
+    private static byte[] frameV22(String id, String value) {
+        byte[] data = data(0, value.getBytes(StandardCharsets.ISO_8859_1));
+        byte[] frame = new byte[6 + data.length];
+        System.arraycopy(id.getBytes(StandardCharsets.ISO_8859_1), 0, frame, 0, 3);
+        frame[3] = (byte) (data.length >>> 16);
+        frame[4] = (byte) (data.length >>> 8);
+        frame[5] = (byte) data.length;
+        System.arraycopy(data, 0, frame, 6, data.length);
+        return frame;
+    }
+
+    private static byte[] data(int encoding, byte[] text) {
+        byte[] data = new byte[1 + text.length];
+        data[0] = (byte) encoding;
+        System.arraycopy(text, 0, data, 1, text.length);
+        return data;
+    }
+
+    private static byte[] v1(String title, String artist, String album, String year, int genre) {
+        byte[] tag = new byte[128];
+        tag[0] = 'T';
+        tag[1] = 'A';
+        tag[2] = 'G';
+        put(tag, 3, title);
+        put(tag, 33, artist);
+        put(tag, 63, album);
+        put(tag, 93, year);
+        tag[127] = (byte) genre;
+        return tag;
+    }
+
+    private static void put(byte[] target, int offset, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.ISO_8859_1);
+        System.arraycopy(bytes, 0, target, offset, bytes.length);
+    }
+
+    private static void writeSyncsafe(byte[] target, int offset, int value) {
+        target[offset] = (byte) ((value >>> 21) & 0x7F);
+        target[offset + 1] = (byte) ((value >>> 14) & 0x7F);
+        target[offset + 2] = (byte) ((value >>> 7) & 0x7F);
+        target[offset + 3] = (byte) (value & 0x7F);
+    }
+}
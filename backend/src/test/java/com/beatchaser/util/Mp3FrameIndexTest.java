@@ -0,0 +1,110 @@
+package com.beatchaser.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs against synthetic files of MPEG-1 Layer III frames at 128 kbps and 48 kHz: every frame is 384 bytes
+ * and 24 ms long, with silent (zero) payloads.
+ */
+class Mp3FrameIndexTest {
+
+    private static final int FRAME_BYTES = 384;
+    private static final int FRAME_MS = 24;
+    private static final int FRAMES = 100;
+    private static final int ID3V2_BYTES = 10 + 20;
+    // A header that looks valid but is not followed by another frame
+    private static final byte[] FALSE_SYNC = {(byte) 0xFF, (byte) 0xFB, (byte) 0x94, 0, 0, 0, 0};
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void indexesTaggedFileWithLeadingJunk() throws IOException {
+        Mp3FrameIndex index = Mp3FrameIndex.build(write(true, FALSE_SYNC, true), 100);
+        long audioStart = ID3V2_BYTES + FALSE_SYNC.length;
+
+        assertThat(index.getDurationMs()).isEqualTo(FRAMES * FRAME_MS);
+        assertThat(index.getIntervalMs()).isEqualTo(100);
+        assertThat(index.slice(0, 100)).containsExactly(audioStart, frameOffset(audioStart, 100));
+        // Starts round down to the index interval, ends round up, both to the first frame at or after the mark
+        assertThat(index.slice(1000, 500)).containsExactly(frameOffset(audioStart, 1000), frameOffset(audioStart, 1500));
+        assertThat(index.slice(1050, 400)).containsExactly(frameOffset(audioStart, 1000), frameOffset(audioStart, 1500));
+    }
+
+    @Test
+    void slicesAreClampedToTheAudioData() throws IOException {
+        Mp3FrameIndex index = Mp3FrameIndex.build(write(false, new byte[0], true), 100);
+        long audioEnd = (long) FRAMES * FRAME_BYTES;
+
+        // The trailing ID3v1 tag is not audio
+        assertThat(index.slice(2000, 10_000)).containsExactly(frameOffset(0, 2000), audioEnd);
+        assertThat(index.slice(-50, 100)).containsExactly(0L, frameOffset(0, 100));
+        assertThat(index.slice(60_000, 1000)[1]).isEqualTo(audioEnd);
+    }
+
+    @Test
+    void survivesRoundTripThroughItsStoredForm() throws IOException {
+        Mp3FrameIndex index = Mp3FrameIndex.build(write(true, new byte[0], false), 250);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+
+        Mp3FrameIndex read = Mp3FrameIndex.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(read.getIntervalMs()).isEqualTo(250);
+        assertThat(read.getDurationMs()).isEqualTo(index.getDurationMs());
+        for (int startMs = 0; startMs < 2600; startMs += 130) {
+            assertThat(read.slice(startMs, 700)).containsExactly(index.slice(startMs, 700));
+        }
+    }
+
+    @Test
+    void rejectsFilesWithoutFrames() throws IOException {
+        Path file = Files.write(dir.resolve("empty.mp3"), new byte[1024]);
+        assertThatThrownBy(() -> Mp3FrameIndex.build(file, 100)).isInstanceOf(IOException.class);
+
+        byte[] notAnIndex = {0, 0, 0, 0};
+        assertThatThrownBy(() -> Mp3FrameIndex.readFrom(new DataInputStream(new ByteArrayInputStream(notAnIndex))))
+                .isInstanceOf(IOException.class);
+    }
+
+    /** Offset of the first frame starting at or after {@code ms}. */
+    private static long frameOffset(long audioStart, long ms) {
+        return audioStart + (ms + FRAME_MS - 1) / FRAME_MS * FRAME_BYTES;
+    }
+
+    private Path write(boolean id3v2, byte[] junk, boolean id3v1) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (id3v2) {
+            out.write(new byte[]{'I', 'D', '3', 4, 0, 0, 0, 0, 0, ID3V2_BYTES - 10});
+            out.write(new byte[ID3V2_BYTES - 10]);
+        }
+        out.write(junk);
+        for (int i = 0; i < FRAMES; i++) {
+            byte[] frame = new byte[FRAME_BYTES];
+            frame[0] = (byte) 0xFF;
+            frame[1] = (byte) 0xFB; // MPEG-1, Layer III, no CRC
+            frame[2] = (byte) 0x94; // 128 kbps, 48 kHz, no padding
+            out.write(frame);
+        }
+        if (id3v1) {
+            byte[] tag = new byte[128];
+            tag[0] = 'T';
+            tag[1] = 'A';
+            tag[2] = 'G';
+            out.write(tag);
+        }
+        return Files.write(dir.resolve("song.mp3"), out.toByteArray());
+    }
+}
@@ -0,0 +1,105 @@
+package com.beatchaser.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the skip list against a sorted reference list through random inserts and removes. Scores are drawn from
+ * a small range so ties, ordered by user id, are common.
+ */
+class RankedSkipListTest {
+
+    private static final Comparator<RankedSkipList.Entry> ORDER = Comparator
+            .comparingLong(RankedSkipList.Entry::score).reversed()
+            .thenComparing(RankedSkipList.Entry::userId);
+
+    @Test
+    void matchesSortedReferenceUnderRandomUpdates() {
+        Random random = new Random(42);
+        RankedSkipList list = new RankedSkipList();
+        List<RankedSkipList.Entry> reference = new ArrayList<>();
+
+        for (int step = 0; step < 5000; step++) {
+            if (reference.isEmpty() || random.nextInt(3) > 0) {
+                var entry = new RankedSkipList.Entry(0, random.nextInt(50), randomUuid(random));
+                list.insert(entry.score(), entry.userId());
+                reference.add(entry);
+            } else {
+                var entry = reference.remove(random.nextInt(reference.size()));
+                assertThat(list.remove(entry.score(), entry.userId())).isTrue();
+            }
+            if (step % 250 == 0) {
+                assertMatches(list, reference, random);
+            }
+        }
+        assertMatches(list, reference, random);
+    }
+
+    @Test
+    void fromSortedMatchesInsertedList() {
+        Random random = new Random(7);
+        List<RankedSkipList.Entry> reference = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            reference.add(new RankedSkipList.Entry(0, random.nextInt(100), randomUuid(random)));
+        }
+        reference.sort(ORDER);
+        long[] scores = reference.stream().mapToLong(RankedSkipList.Entry::score).toArray();
+        UUID[] userIds = reference.stream().map(RankedSkipList.Entry::userId).toArray(UUID[]::new);
+
+        RankedSkipList list = RankedSkipList.fromSorted(scores, userIds);
+        assertMatches(list, reference, random);
+
+        // Links built in bulk must stay consistent when the list is updated afterwards
+        var removed = reference.remove(500);
+        assertThat(list.remove(removed.score(), removed.userId())).isTrue();
+        var added = new RankedSkipList.Entry(0, 50, randomUuid(random));
+        list.insert(added.score(), added.userId());
+        reference.add(added);
+        assertMatches(list, reference, random);
+    }
+
+    @Test
+    void missingEntriesAndOutOfRangePositions() {
+        RankedSkipList list = new RankedSkipList();
+        UUID user = UUID.randomUUID();
+        list.insert(10, user);
+
+        assertThat(list.indexOf(11, user)).isEqualTo(-1);
+        assertThat(list.indexOf(10, UUID.randomUUID())).isEqualTo(-1);
+        assertThat(list.remove(11, user)).isFalse();
+        assertThat(list.range(1, 5)).isEmpty();
+        assertThat(list.range(-1, 5)).isEmpty();
+        assertThat(list.range(0, 0)).isEmpty();
+        assertThat(list.range(0, 5)).containsExactly(new RankedSkipList.Entry(0, 10, user));
+    }
+
+    private static void assertMatches(RankedSkipList list, List<RankedSkipList.Entry> reference, Random random) {
+        List<RankedSkipList.Entry> sorted = new ArrayList<>();
+        reference.sort(ORDER);
+        for (int i = 0; i < reference.size(); i++) {
+            sorted.add(new RankedSkipList.Entry(i, reference.get(i).score(), reference.get(i).userId()));
+        }
+        assertThat(list.size()).isEqualTo(sorted.size());
+        for (var entry : sorted) {
+            assertThat(list.indexOf(entry.score(), entry.userId())).isEqualTo(entry.index());
+        }
+        assertThat(list.range(0, sorted.size() + 10)).isEqualTo(sorted);
+        for (int i = 0; i < 20 && !sorted.isEmpty(); i++) {
+            int from = random.nextInt(sorted.size());
+            int count = random.nextInt(30);
+            assertThat(list.range(from, count))
+                    .isEqualTo(sorted.subList(from, Math.min(sorted.size(), from + count)));
+        }
+    }
+
+    private static UUID randomUuid(Random random) {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+}
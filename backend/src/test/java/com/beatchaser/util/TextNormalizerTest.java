@@ -0,0 +1,45 @@
+package com.beatchaser.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextNormalizerTest {
+
+    @Test
+    void foldsCaseDiacriticsAndPunctuation() {
+        assertThat(TextNormalizer.fold("Łódź - Żółć!")).isEqualTo("lodz zolc");
+        assertThat(TextNormalizer.fold("  Beyoncé   Knowles ")).isEqualTo("beyonce knowles");
+        assertThat(TextNormalizer.fold("AC/DC")).isEqualTo("ac dc");
+        assertThat(TextNormalizer.fold("Sigur Rós")).isEqualTo("sigur ros");
+    }
+
+    @Test
+    void foldsLettersWithoutADecomposition() {
+        assertThat(TextNormalizer.fold("Straße")).isEqualTo("strasse");
+        assertThat(TextNormalizer.fold("Øresund")).isEqualTo("oresund");
+        assertThat(TextNormalizer.fold("Æon Œuvre Đ")).isEqualTo("aeon oeuvre d");
+    }
+
+    @Test
+    void emptyAndNullFoldToEmpty() {
+        assertThat(TextNormalizer.fold(null)).isEmpty();
+        assertThat(TextNormalizer.fold("")).isEmpty();
+        assertThat(TextNormalizer.fold("?!")).isEmpty();
+        assertThat(TextNormalizer.normalizeAnswer(null)).isEmpty();
+    }
+
+    @Test
+    void answersDropBracketedPartsAndFeaturedArtists() {
+        assertThat(TextNormalizer.normalizeAnswer("Hey Jude (Remastered 2015)")).isEqualTo("hey jude");
+        assertThat(TextNormalizer.normalizeAnswer("Song [Live]")).isEqualTo("song");
+        assertThat(TextNormalizer.normalizeAnswer("Stay feat. Justin Bieber")).isEqualTo("stay");
+        assertThat(TextNormalizer.normalizeAnswer("Stay ft. Justin Bieber")).isEqualTo("stay");
+        assertThat(TextNormalizer.normalizeAnswer("Featuring Nobody")).isEqualTo("featuring nobody");
+    }
+
+    @Test
+    void answerThatIsOnlyBracketedKeepsItsText() {
+        assertThat(TextNormalizer.normalizeAnswer("(Intro)")).isEqualTo("intro");
+    }
+}
@@ -146,7 +146,7 @@ export default function GameConfigurePage() {
       });
       
       console.log('✅ Game started via REST API:', startResponse);
-      message.success(`Gra rozpoczęta! Gracze: ${startResponse.players.length}`);
+      message.success(`Gra rozpoczęta! Gracze: ${startResponse.playerCount}`);
       
       // Navigate to game play page
       router.push(`/game/play?gameId=${gameId}&mode=${config.gameMode}&rounds=${config.rounds}&duration=${config.roundDuration}`);
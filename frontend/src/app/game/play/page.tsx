@@ -15,6 +15,8 @@ import {
 import { ArrowLeftOutlined } from '@ant-design/icons';
 import { useRouter, useSearchParams } from 'next/navigation';
 import { getAllSongs, Song } from '@/services/gameApi';
+import { useWebSocketContext } from '@/contexts/WebSocketContext';
+import { WebSocketMessage } from '@/services/WebSocketService';
 import AudioPlayer from 'react-h5-audio-player';
 import 'react-h5-audio-player/lib/styles.css';
 
@@ -40,6 +42,7 @@ export default function GamePlayPage() {
   const router = useRouter();
   const searchParams = useSearchParams();
   
+  const gameId = searchParams.get('gameId');
   const gameMode = searchParams.get('mode') || 'singleplayer';
   const rounds = parseInt(searchParams.get('rounds') || '5');
   const duration = parseInt(searchParams.get('duration') || '30');
@@ -49,15 +52,12 @@ export default function GamePlayPage() {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
 
-  // State for current song and audio
-  const [currentSong, setCurrentSong] = useState<Song | null>(null);
+  // Signed clip URLs by round number, issued by the server in round-start, clip-prefetch and state snapshot messages
+  const [clipUrls, setClipUrls] = useState<Record<number, string>>({});
   const [isAudioPlaying, setIsAudioPlaying] = useState(false);
-  // Remove old audio ref state since we're using react-h5-audio-player now
-  // const [audioRef, setAudioRef] = useState<HTMLAudioElement | null>(null);
   const [audioVolume, setAudioVolume] = useState(0.1);
-  const [audioStartTime, setAudioStartTime] = useState(0);
-  const [audioFragmentDuration] = useState(30); // 30 seconds fragment
   const [playerRef, setPlayerRef] = useState<any>(null);
+  const { isConnected, subscribe, subscribeToGameEvents } = useWebSocketContext();
   
   // State for countdown and round management
   const [roundCountdown, setRoundCountdown] = useState<number | null>(null);
@@ -83,28 +83,16 @@ export default function GamePlayPage() {
     router.push('/game/configure?mode=' + gameMode);
   };
 
-  // Function to convert backend path to web URL
-  const getAudioUrl = (song: Song) => {
-    // Convert backend system path to web-accessible URL
-    const filename = song.audioPreviewUrl.split('\\').pop() || song.audioPreviewUrl.split('/').pop();
-    return `/music/${filename}`;
-  };
+  // The server only serves the round's clip, never the whole track, so the song cannot be read from the URL
+  const toAbsoluteClipUrl = (url: string) => `${process.env.NEXT_PUBLIC_API_BASE_URL ?? ''}${url}`;
+  const currentClipUrl = clipUrls[gameState.currentRound]
+    ? toAbsoluteClipUrl(clipUrls[gameState.currentRound])
+    : null;
 
-  // Function to select random song for current round
-  const selectRandomSong = () => {
-    if (songs.length > 0) {
-      const randomIndex = Math.floor(Math.random() * songs.length);
-      const selectedSong = songs[randomIndex];
-      setCurrentSong(selectedSong);
-      
-      // Generate random start time (avoid last 30 seconds of song)
-      const maxStartTime = Math.max(0, selectedSong.durationSeconds - audioFragmentDuration);
-      const randomStartTime = Math.floor(Math.random() * maxStartTime);
-      setAudioStartTime(randomStartTime);
-      
-      console.log('🎵 Selected song for round:', selectedSong);
-      console.log('🎵 Audio URL:', getAudioUrl(selectedSong));
-      console.log('🎵 Fragment: ' + randomStartTime + 's - ' + (randomStartTime + audioFragmentDuration) + 's');
+  // Keep the first URL seen for a round: the browser cached the prefetched clip under exactly that URL
+  const rememberClipUrl = (roundNumber: number, url?: string | null) => {
+    if (url) {
+      setClipUrls(prev => (prev[roundNumber] ? prev : { ...prev, [roundNumber]: url }));
     }
   };
 
@@ -140,11 +128,38 @@ export default function GamePlayPage() {
     loadSongs();
   }, []);
 
-  // Select random song when songs are loaded or round changes
+  // Collect clip URLs for this game: the snapshot covers a round that opened before this page subscribed
+  useEffect(() => {
+    if (!gameId || !isConnected) return;
+
+    const unsubscribeEvents = subscribeToGameEvents(gameId, (wsMessage: WebSocketMessage) => {
+      switch (wsMessage.type) {
+        case 'round-start':
+          rememberClipUrl(wsMessage.payload.currentRound, wsMessage.payload.clipUrl);
+          break;
+        case 'clip-prefetch':
+          rememberClipUrl(wsMessage.payload.roundNumber, wsMessage.payload.url);
+          // Warm the browser cache; the round-start event carries the same URL
+          fetch(toAbsoluteClipUrl(wsMessage.payload.url)).catch((err) => {
+            console.warn('🎵 Clip prefetch failed:', err);
+          });
+          break;
+      }
+    });
+    // Subscribe mappings reply with the bare snapshot, not a typed message
+    const unsubscribeState = subscribe(`/app/game/${gameId}/state`, (snapshot: any) => {
+      rememberClipUrl(snapshot.currentRound, snapshot.clipUrl);
+    });
+
+    return () => {
+      unsubscribeEvents();
+      unsubscribeState();
+    };
+  }, [gameId, isConnected]);
+
+  // Start the countdown when songs are loaded or round changes
   useEffect(() => {
     if (songs.length > 0) {
-      selectRandomSong();
-      // Start countdown for new round
       startRoundCountdown();
     }
   }, [songs, gameState.currentRound]);
@@ -202,45 +217,22 @@ export default function GamePlayPage() {
     }
   }, [playerRef, audioVolume]);
 
-  // Monitor audio time and stop after fragment duration
-  useEffect(() => {
-    let audioTimeChecker: NodeJS.Timeout;
-    
-    if (playerRef?.audio?.current && isAudioPlaying) {
-      audioTimeChecker = setInterval(() => {
-        const currentTime = playerRef.audio.current!.currentTime;
-        const endTime = audioStartTime + audioFragmentDuration;
-        
-        if (currentTime >= endTime) {
-          playerRef.audio.current!.pause();
-          setIsAudioPlaying(false);
-          console.log('🎵 Audio fragment ended at:', currentTime + 's');
-        }
-      }, 100); // Check every 100ms for precision
-    }
-    
-    return () => {
-      if (audioTimeChecker) clearInterval(audioTimeChecker);
-    };
-  }, [playerRef, isAudioPlaying, audioStartTime, audioFragmentDuration]);
-
   // Audio control functions
   const startAudioFragment = () => {
-    if (!playerRef?.audio?.current || !currentSong) {
-      console.warn('🎵 Cannot start audio: missing playerRef or currentSong');
+    if (!playerRef?.audio?.current || !currentClipUrl) {
+      console.warn('🎵 Cannot start audio: missing playerRef or clip');
       return;
     }
     
-    console.log('🎵 Setting audio time to:', audioStartTime);
     const audioElement = playerRef.audio.current;
-    audioElement.currentTime = audioStartTime;
+    audioElement.currentTime = 0;
     
     const playPromise = audioElement.play();
     if (playPromise !== undefined) {
       playPromise.then(() => {
         setIsAudioPlaying(true);
         setAutoplayFailed(false);
-        console.log('🎵 Successfully started audio fragment at:', audioStartTime + 's');
+        console.log('🎵 Successfully started clip of round', gameState.currentRound);
       }).catch((err: Error) => {
         console.error('❌ Autoplay failed (browser policy):', err);
         console.log('🎵 User will need to manually start audio');
@@ -251,7 +243,7 @@ export default function GamePlayPage() {
   };
 
   const handlePlayPause = () => {
-    if (!currentSong || !playerRef?.audio?.current) return;
+    if (!currentClipUrl || !playerRef?.audio?.current) return;
 
     if (isAudioPlaying) {
       playerRef.audio.current.pause();
@@ -263,7 +255,7 @@ export default function GamePlayPage() {
 
   const handleRestartAudio = () => {
     if (!playerRef?.audio?.current) return;
-    playerRef.audio.current.currentTime = audioStartTime;
+    playerRef.audio.current.currentTime = 0;
     if (isAudioPlaying) {
       playerRef.audio.current.play();
     }
@@ -282,7 +274,7 @@ export default function GamePlayPage() {
   };
 
   const handleAudioError = () => {
-    console.error('❌ Audio loading error for:', currentSong?.audioPreviewUrl);
+    console.error('❌ Audio loading error for:', currentClipUrl);
     setIsAudioPlaying(false);
   };
 
@@ -467,7 +459,7 @@ export default function GamePlayPage() {
             )}
 
             {/* Audio Player */}
-            {currentSong && isRoundActive && (
+            {currentClipUrl && isRoundActive && (
               <div style={{ 
                 marginBottom: 32,
                 padding: '24px',
@@ -481,7 +473,7 @@ export default function GamePlayPage() {
                 <div style={{ marginBottom: 16 }} className="no-seek-audio-player">
                   <AudioPlayer
                     ref={(ref) => setPlayerRef(ref)}
-                    src={getAudioUrl(currentSong)}
+                    src={currentClipUrl}
                     autoPlay={true}
                     autoPlayAfterSrcChange={true}
                     volume={audioVolume}
@@ -500,17 +492,6 @@ export default function GamePlayPage() {
                         }, 100); // Small delay to ensure audio is ready
                       }
                     }}
-                    onListen={() => {
-                      // Monitor time during playback
-                      if (playerRef?.audio?.current) {
-                        const currentTime = playerRef.audio.current.currentTime;
-                        const endTime = audioStartTime + audioFragmentDuration;
-                        if (currentTime >= endTime) {
-                          playerRef.audio.current.pause();
-                          setIsAudioPlaying(false);
-                        }
-                      }
-                    }}
                     showJumpControls={false}
                     showDownloadProgress={false}
                     showSkipControls={false}
@@ -531,26 +512,12 @@ export default function GamePlayPage() {
                   textAlign: 'center',
                   marginBottom: 8
                 }}>
-                  Fragment: {audioFragmentDuration}s z utworu
+                  Fragment utworu
                 </div>
                 
                 <div style={{ fontSize: '12px', color: '#666', textAlign: 'center' }}>
-                  Posłuchaj {audioFragmentDuration}-sekundowego fragmentu i zgadnij tytuł oraz wykonawcę
+                  Posłuchaj fragmentu i zgadnij tytuł oraz wykonawcę
                 </div>
-                
-                {/* Debug info - remove in production */}
-                {process.env.NODE_ENV === 'development' && (
-                  <div style={{ 
-                    marginTop: 8, 
-                    fontSize: '10px', 
-                    color: '#999', 
-                    textAlign: 'center',
-                    fontFamily: 'monospace'
-                  }}>
-                    DEBUG: {currentSong.title} - {currentSong.artist}<br/>
-                    Fragment: {audioStartTime}s - {audioStartTime + audioFragmentDuration}s
-                  </div>
-                )}
               </div>
             )}
 
@@ -14,6 +14,7 @@ export interface User {
 
 export interface AuthContextType {
   user: User | null;
+  token: string | null;
   isAuthenticated: boolean;
   isLoading: boolean;
   login: (user: User, token: string) => void;
@@ -65,6 +66,7 @@ interface AuthProviderProps {
 
 export function AuthProvider({ children }: AuthProviderProps) {
   const [user, setUser] = useState<User | null>(null);
+  const [token, setToken] = useState<string | null>(null);
   const [isLoading, setIsLoading] = useState(true);
 
   // Check for existing auth on mount
@@ -79,6 +81,7 @@ export function AuthProvider({ children }: AuthProviderProps) {
           
           if (userData) {
             setUser(userData);
+            setToken(token);
           } else {
             // If token is invalid, clear it
             authAPI.logout();
@@ -99,11 +102,13 @@ export function AuthProvider({ children }: AuthProviderProps) {
   // Login function
   const login = (userData: User, token: string) => {
     setUser(userData);
+    setToken(token);
   };
 
   // Logout function
   const logout = () => {
     setUser(null);
+    setToken(null);
     authAPI.logout(); // This clears the cookie
   };
 
@@ -116,6 +121,7 @@ export function AuthProvider({ children }: AuthProviderProps) {
 
   const value: AuthContextType = {
     user,
+    token,
     isAuthenticated: !!user,
     isLoading,
     login,
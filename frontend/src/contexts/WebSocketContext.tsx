@@ -2,6 +2,7 @@
 
 import React, { createContext, useContext, useEffect, useState } from 'react';
 import { webSocketService, WebSocketMessage } from '@/services/WebSocketService';
+import { useAuth } from './AuthContext';
 
 interface WebSocketContextType {
   isConnected: boolean;
@@ -37,6 +38,7 @@ export const WebSocketProvider: React.FC<WebSocketProviderProps> = ({
   const [isConnected, setIsConnected] = useState(false);
   const [isConnecting, setIsConnecting] = useState(false);
   const [error, setError] = useState<string | null>(null);
+  const { token, isLoading: isAuthLoading } = useAuth();
 
   useEffect(() => {
     console.log('🚀 WebSocketProvider initializing...');
@@ -61,16 +63,6 @@ export const WebSocketProvider: React.FC<WebSocketProviderProps> = ({
       setIsConnecting(false);
     });
 
-    // Auto-connect if enabled
-    if (autoConnect) {
-      setIsConnecting(true);
-      webSocketService.connect().catch((err) => {
-        console.error('Failed to auto-connect:', err);
-        setError(err.message);
-        setIsConnecting(false);
-      });
-    }
-
     // Cleanup on unmount
     return () => {
       console.log('🧹 WebSocketProvider cleaning up...');
@@ -79,7 +71,21 @@ export const WebSocketProvider: React.FC<WebSocketProviderProps> = ({
       unsubscribeError();
       webSocketService.disconnect();
     };
-  }, [autoConnect]);
+  }, []);
+
+  // The server requires a token in the STOMP CONNECT frame, so (re)connect once auth is known and whenever the token changes
+  useEffect(() => {
+    if (isAuthLoading) return;
+    webSocketService.setAuthToken(token);
+    if (autoConnect && token) {
+      setIsConnecting(true);
+      webSocketService.connect().catch((err) => {
+        console.error('Failed to auto-connect:', err);
+        setError(err.message);
+        setIsConnecting(false);
+      });
+    }
+  }, [autoConnect, token, isAuthLoading]);
 
   const subscribeToGameEvents = (gameId: string, handler: (message: WebSocketMessage) => void) => {
     return webSocketService.subscribeToGame(gameId, handler);
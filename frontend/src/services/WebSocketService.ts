@@ -29,9 +29,28 @@ export class WebSocketService {
   private reconnectAttempts = 0;
   private maxReconnectAttempts = 5;
   private reconnectDelay = 3000;
+  private authToken: string | null = null;
 
   constructor(private wsUrl: string = 'http://localhost:8080/ws') {}
 
+  /**
+   * Set the JWT sent in the STOMP CONNECT frame. The server binds the session to this token,
+   * so an open connection is closed when the token changes and must be reopened with the new one.
+   */
+  setAuthToken(token: string | null): void {
+    if (token === this.authToken) return;
+    this.authToken = token;
+    if (this.client) {
+      console.log('🔑 Auth token changed, closing WebSocket session');
+      this.disconnect();
+      this.disconnectionHandlers.forEach(handler => handler());
+    }
+  }
+
+  private connectHeaders(): Record<string, string> {
+    return this.authToken ? { Authorization: 'Bearer ' + this.authToken } : {};
+  }
+
   /**
    * Connect to WebSocket server
    */
@@ -47,14 +66,19 @@ export class WebSocketService {
       console.log('🔌 Connecting to WebSocket at:', this.wsUrl);
       
       // Create STOMP client with SockJS (matches backend configuration)
-      this.client = new Client({
+      const client: Client = new Client({
         webSocketFactory: () => {
           return new SockJS(this.wsUrl);
         },
+        connectHeaders: this.connectHeaders(),
+        beforeConnect: () => {
+          client.connectHeaders = this.connectHeaders();
+        },
         debug: (str) => {
           console.log('📡 STOMP:', str);
         },
         onConnect: (frame) => {
+          if (this.client !== client) return;
           console.log('✅ WebSocket connected:', frame);
           this.isConnected = true;
           this.isConnecting = false;
@@ -62,6 +86,7 @@ export class WebSocketService {
           this.connectionHandlers.forEach(handler => handler());
         },
         onDisconnect: (frame) => {
+          if (this.client !== client) return;
           console.log('❌ WebSocket disconnected:', frame);
           this.isConnected = false;
           this.isConnecting = false;
@@ -69,18 +94,21 @@ export class WebSocketService {
           this.attemptReconnect();
         },
         onStompError: (frame) => {
+          if (this.client !== client) return;
           console.error('💥 STOMP Error:', frame);
           const error = new Error(`STOMP Error: ${frame.headers['message'] || 'Unknown error'}`);
           this.errorHandlers.forEach(handler => handler(error));
           this.attemptReconnect();
         },
         onWebSocketError: (event) => {
+          if (this.client !== client) return;
           console.error('🚨 WebSocket Error:', event);
           const error = new Error('WebSocket connection error');
           this.errorHandlers.forEach(handler => handler(error));
         }
       });
 
+      this.client = client;
       this.client.activate();
       
     } catch (error) {
@@ -67,7 +67,7 @@ export interface GamePlayer {
 
 export interface StartGameResponse {
   startTime: string;
-  players: GamePlayer[];
+  playerCount: number;
 }
 
 /**